@@ -0,0 +1,54 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import backend.model.Board;
+import backend.util.Heuristic;
+import backend.util.HeuristicBlocking;
+import backend.util.HeuristicManhattan;
+import backend.util.HeuristicPatternDatabase;
+import backend.util.HeuristicRecursiveBlocking;
+
+/**
+ * Throughput {@link Heuristic#estimate(Board)} per state sampel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeuristicBenchmark {
+    @Param({"test1", "test2", "test3", "test4", "test5", "test6",
+            "k_atas", "k_bawah", "k_kanan", "k_kiri"})
+    public String puzzle;
+
+    @Param({"Blocking", "Manhattan", "RecursiveBlocking", "PatternDatabase"})
+    public String heuristicName;
+
+    private Board[] states;
+    private Heuristic heuristic;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        states = Puzzles.sample(Puzzles.load(puzzle));
+        heuristic = switch (heuristicName) {
+            case "Blocking" -> new HeuristicBlocking();
+            case "RecursiveBlocking" -> new HeuristicRecursiveBlocking();
+            case "PatternDatabase" -> new HeuristicPatternDatabase();
+            default -> new HeuristicManhattan();
+        };
+        // Bangun pattern database di luar pengukuran
+        heuristic.estimate(states[0]);
+    }
+
+    @Benchmark
+    public int estimate() {
+        int s = cursor;
+        cursor = s + 1 == states.length ? 0 : s + 1;
+        return heuristic.estimate(states[s]);
+    }
+}
@@ -0,0 +1,67 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import backend.model.Board;
+import backend.model.Puzzle;
+
+/**
+ * Throughput pembangkitan successor dan penerapan satu langkah, per state sampel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenBenchmark {
+    @Param({"test1", "test2", "test3", "test4", "test5", "test6",
+            "k_atas", "k_bawah", "k_kanan", "k_kiri"})
+    public String puzzle;
+
+    private Board[] states;
+    private char[] moveIds;
+    private int[] moveDeltas;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        states = Puzzles.sample(Puzzles.load(puzzle));
+        moveIds = new char[states.length];
+        moveDeltas = new int[states.length];
+
+        // Satu langkah legal per state, diambil dari successor pertamanya
+        Puzzle p = states[0].getPuzzle();
+        for (int s = 0; s < states.length; s++) {
+            Board next = states[s].generateNeighbors().get(0);
+            for (int i = 0; i < p.getCarCount(); i++) {
+                int delta = next.getPosition(i) - states[s].getPosition(i);
+                if (delta != 0) {
+                    moveIds[s] = p.getId(i);
+                    moveDeltas[s] = delta;
+                    break;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void generateNeighbors(Blackhole bh) {
+        bh.consume(states[next()].generateNeighbors());
+    }
+
+    @Benchmark
+    public Board applyMove() {
+        int s = next();
+        return states[s].applyMove(moveIds[s], moveDeltas[s]);
+    }
+
+    private int next() {
+        int s = cursor;
+        cursor = s + 1 == states.length ? 0 : s + 1;
+        return s;
+    }
+}
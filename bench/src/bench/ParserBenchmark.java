@@ -0,0 +1,47 @@
+package bench;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import backend.model.CorpusParser;
+
+/**
+ * Waktu parse korpus di memori berisi {@code size} puzzle: semua puzzle valid di
+ * direktori test, diulang dan dipisahkan baris kosong.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+    private static final String[] PUZZLES = {"test1", "test2", "test3", "test4", "test5", "test6",
+        "k_atas", "k_bawah", "k_kanan", "k_kiri"};
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    private ByteBuffer corpus;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < size; i++) {
+            out.write(Files.readAllBytes(Puzzles.file(PUZZLES[i % PUZZLES.length])));
+            out.write('\n');
+            out.write('\n');
+        }
+        corpus = ByteBuffer.wrap(out.toByteArray());
+    }
+
+    @Benchmark
+    public int corpus(Blackhole bh) {
+        return CorpusParser.forEach(corpus, bh::consume);
+    }
+}
@@ -0,0 +1,50 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+import backend.exception.InvalidInputException;
+import backend.model.Board;
+import backend.model.Parser;
+
+/**
+ * Pemuat puzzle bersama untuk semua benchmark. Direktori puzzle diambil dari
+ * properti {@code rushhour.testDir} (default {@code test}, relatif terhadap root repo).
+ */
+final class Puzzles {
+    static final int SAMPLE_STATES = 2000;
+
+    private Puzzles() {
+    }
+
+    static Board load(String name) throws IOException, InvalidInputException {
+        return Parser.parse(file(name).toString());
+    }
+
+    static Path file(String name) {
+        Path dir = Paths.get(System.getProperty("rushhour.testDir", "test"));
+        return dir.resolve(name + ".txt");
+    }
+
+    /**
+     * Mengambil sampel state dengan BFS dari papan awal.
+     */
+    static Board[] sample(Board initialBoard) {
+        List<Board> sample = new ArrayList<>();
+        Set<Board> seen = new HashSet<>();
+        Deque<Board> queue = new ArrayDeque<>();
+        queue.add(initialBoard);
+        seen.add(initialBoard);
+
+        while (!queue.isEmpty() && sample.size() < SAMPLE_STATES) {
+            Board b = queue.poll();
+            sample.add(b);
+            for (Board n : b.generateNeighbors()) {
+                if (seen.add(n)) queue.add(n);
+            }
+        }
+        return sample.toArray(new Board[0]);
+    }
+}
@@ -0,0 +1,23 @@
+package bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point {@code benchmarks.jar}: sama dengan {@code org.openjdk.jmh.Main},
+ * tetapi GC profiler selalu aktif sehingga laju alokasi ({@code gc.alloc.rate.norm})
+ * ikut dilaporkan. Argumen diteruskan apa adanya, misalnya
+ * {@code java -jar bench/target/benchmarks.jar SolveBenchmark -p puzzle=test3}.
+ */
+public class RunBenchmarks {
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,79 @@
+package bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import backend.algorithm.*;
+import backend.model.Board;
+import backend.util.Heuristic;
+import backend.util.HeuristicBlocking;
+import backend.util.HeuristicManhattan;
+import backend.util.HeuristicRecursiveBlocking;
+
+/**
+ * Waktu solve end-to-end per puzzle. Jumlah node yang dikunjungi dan panjang
+ * solusi dilaporkan sebagai counter tambahan ({@code nodes}, {@code steps}).
+ *
+ * <p>test5 tidak termasuk default karena UCS kehabisan memori di sana; tambahkan
+ * dengan {@code -p puzzle=test5 -p solver=AStar-Blocking} bila perlu.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SolveBenchmark {
+    @Param({"test1", "test2", "test3", "test4", "test6",
+            "k_atas", "k_bawah", "k_kanan", "k_kiri"})
+    public String puzzle;
+
+    @Param({"UCS", "GBFS-Blocking", "GBFS-Manhattan", "AStar-Blocking", "AStar-Manhattan",
+            "AStar-RecursiveBlocking"})
+    public String solver;
+
+    private Board initialBoard;
+    private Heuristic heuristic;
+
+    /**
+     * Counter per iterasi. Nilainya di-assign (bukan dijumlah) karena solve
+     * deterministik, sehingga yang dilaporkan adalah nilai per satu solve.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Stats {
+        public long nodes;
+        public long steps;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+            steps = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        initialBoard = Puzzles.load(puzzle);
+        if (solver.endsWith("RecursiveBlocking")) heuristic = new HeuristicRecursiveBlocking();
+        else if (solver.endsWith("Manhattan")) heuristic = new HeuristicManhattan();
+        else heuristic = new HeuristicBlocking();
+    }
+
+    @Benchmark
+    public List<Board> solve(Stats stats) {
+        PathfindingAlgorithm algorithm = createAlgorithm();
+        List<Board> path = algorithm.solve(initialBoard, heuristic);
+        stats.nodes = algorithm.getNodesVisited();
+        stats.steps = path.isEmpty() ? -1 : path.size() - 1;
+        return path;
+    }
+
+    private PathfindingAlgorithm createAlgorithm() {
+        if (solver.startsWith("GBFS")) return new GBFS(heuristic);
+        if (solver.startsWith("AStar")) return new AStar(heuristic);
+        return new UCS();
+    }
+}
@@ -1,86 +1,104 @@
 package backend.algorithm;
 
+import backend.algorithm.support.BucketQueue;
+import backend.algorithm.support.LongIntMap;
+import backend.algorithm.support.LongLongMap;
+import backend.algorithm.support.OpenList;
+import backend.algorithm.support.OpenList.TieBreak;
+import backend.algorithm.support.PathReplay;
 import backend.model.Board;
 import backend.util.Heuristic;
+import backend.util.IncrementalHeuristic;
 
 import java.util.*;
 
 public class AStar implements PathfindingAlgorithm {
    private Heuristic heuristic; 
+   private final TieBreak tieBreak;
    private int visitedNodes = 0; 
    private long execTime = 0; 
    
    public AStar(Heuristic heuristic) {
+       this(heuristic, TieBreak.LIFO);
+   }
+
+   /**
+    * @param heuristic Heuristik yang digunakan
+    * @param tieBreak Urutan ekspansi node dengan nilai f yang sama
+    */
+   public AStar(Heuristic heuristic, TieBreak tieBreak) {
        this.heuristic = heuristic;
+       this.tieBreak = tieBreak;
    }
    
    @Override
    public List<Board> solve(Board initBoard, Heuristic heuristic) {
+       return solve(initBoard, heuristic, SolveOptions.unlimited()).getPath();
+   }
+
+   @Override
+   public SolveResult solve(Board initBoard, Heuristic heuristic, SolveOptions options) {
        long startTime = System.currentTimeMillis();
        visitedNodes = 0;
+       SearchMonitor monitor = new SearchMonitor(options);
        
-       PriorityQueue<ANode> openSet = new PriorityQueue<>(
-           Comparator.comparingInt(node -> node.f));
-       
-       Set<Board> closedSet = new HashSet<>();
+       // f = g + h berupa bilangan bulat kecil, jadi cukup bucket queue
+       OpenList<ANode> openSet = new BucketQueue<>(tieBreak);
        
-       Map<Board, Board> prevBoard = new HashMap<>();
+       // Semua tabel dikunci dengan Zobrist key, bukan objek Board.
+       // Tidak ada closed set: state yang sudah diekspansi dibuka kembali jika ditemukan
+       // g yang lebih kecil, sehingga heuristik admissible yang tidak konsisten tetap
+       // menghasilkan path optimal. Untuk heuristik konsisten hal ini tidak pernah terjadi.
+       LongLongMap prevBoard = new LongLongMap();
        
-       Map<Board, Integer> gScore = new HashMap<>();
+       LongIntMap gScore = new LongIntMap();
        
        ANode startNode = new ANode(initBoard, 0, heuristic.estimate(initBoard));
-       openSet.add(startNode);
-       gScore.put(initBoard, 0);
+       openSet.add(startNode, startNode.f);
+       gScore.put(initBoard.getZobristKey(), 0);
        
        while (!openSet.isEmpty()) {
            ANode current = openSet.poll();
+           long currentKey = current.board.getZobristKey();
+           // Entry usang: state ini sudah dimasukkan lagi dengan g yang lebih kecil
+           if (current.g > gScore.get(currentKey, Integer.MAX_VALUE)) {
+               continue;
+           }
            visitedNodes++;
+           if (monitor.expand(openSet.size(), gScore.size(), current.h)) {
+               break;
+           }
            
            if (isGoalState(current.board)) {
                execTime = System.currentTimeMillis() - startTime;
-               return buildPath(prevBoard, current.board);
+               return monitor.finish(PathReplay.rebuild(initBoard, prevBoard, currentKey), visitedNodes, execTime);
            }
            
-           closedSet.add(current.board);
-           
-           List<Board> neighbors = current.board.generateNeighbors(current.board.getZobristTable());
+           List<Board> neighbors = current.board.generateNeighbors();
            
            for (Board neighbor : neighbors) {
-               if (closedSet.contains(neighbor)) {
-                   continue;
-               }
+               long neighborKey = neighbor.getZobristKey();
+               int tentG = current.g + 1; 
                
-               int tentG = gScore.get(current.board) + 1; 
-               
-               if (!gScore.containsKey(neighbor) || tentG < gScore.get(neighbor)) {
-                   prevBoard.put(neighbor, current.board);
-                   gScore.put(neighbor, tentG);
+               if (tentG < gScore.get(neighborKey, Integer.MAX_VALUE)) {
+                   prevBoard.put(neighborKey, currentKey);
+                   gScore.put(neighborKey, tentG);
                    
-                   openSet.add(new ANode(neighbor, tentG, heuristic.estimate(neighbor)));
+                   int h = IncrementalHeuristic.estimateChild(heuristic, current.board, current.h, neighbor);
+                   ANode next = new ANode(neighbor, tentG, h);
+                   openSet.add(next, next.f);
                }
            }
        }
        
        execTime = System.currentTimeMillis() - startTime;
-       return new ArrayList<>();
+       return monitor.finish(new ArrayList<>(), visitedNodes, execTime);
    }
    
    private boolean isGoalState(Board board) {
        return board.isGoal();
    }
 
-   private List<Board> buildPath(Map<Board, Board> prevBoard, Board current) {
-       List<Board> path = new ArrayList<>();
-       path.add(current);
-       
-       while (prevBoard.containsKey(current)) {
-           current = prevBoard.get(current);
-           path.add(0, current); 
-       }
-       
-       return path;
-   }
-   
    @Override
    public String getName() {
        return "A* Search";
@@ -0,0 +1,323 @@
+package backend.algorithm;
+
+import backend.algorithm.support.LongIntMap;
+import backend.algorithm.support.LongLongMap;
+import backend.algorithm.support.PathReplay;
+import backend.model.Board;
+import backend.model.Solution;
+import backend.model.Puzzle;
+import backend.util.Heuristic;
+
+import java.util.*;
+
+/**
+ * Breadth-first search dua arah. Sisi maju tumbuh dari papan awal dengan
+ * {@link Board#generateNeighbors()}; sisi mundur tumbuh dari semua goal state dengan
+ * {@link Board#generatePredecessors()}. Satu langkah menggeser mobil sampai mentok,
+ * sehingga sisi mundur tidak bisa sekadar memakai ulang langkah maju.
+ *
+ * <p>Goal state adalah semua penempatan mobil lain dengan P di exit, dibatasi pada
+ * penempatan yang menjaga urutan mobil di lintasan yang sama (mobil tersebut tidak
+ * pernah saling melewati). Tiap langkah mengekspansi satu layer penuh dari frontier
+ * yang lebih kecil; pencarian berhenti setelah layer pertama tempat kedua sisi
+ * bertemu dan memilih titik temu termurah, sehingga path-nya optimal.
+ *
+ * <p>Jika jumlah goal melebihi batas (default {@link #MAX_GOAL_STATES}) atau
+ * enumerasinya terlalu lama (papan besar dengan banyak mobil), pencarian beralih ke
+ * BFS maju {@link UCS} yang juga optimal. Enumerasi sudah dihitung terhadap timeout,
+ * pembatalan dan batas node; fallback hanya mendapat sisanya.
+ *
+ * <p>Batas default disetel pada korpus test. test1-test3 dan puzzle k_* muat dengan
+ * mudah. test4-test6 tetap beralih ke fallback pada batas 2^22, dan enumerasi
+ * sejauh itu membuat test4 sekitar 4x lebih lambat daripada dengan 2^18, sehingga
+ * batas yang lebih besar tidak sepadan.
+ */
+public class BidirectionalSearch implements PathfindingAlgorithm {
+    public static final int MAX_GOAL_STATES = 1 << 18;
+
+    private final int maxGoalStates;
+    private int nodesVisited;
+    private long executionTime;
+
+    public BidirectionalSearch() {
+        this(MAX_GOAL_STATES);
+    }
+
+    /**
+     * @param maxGoalStates Jumlah goal state maksimal sebelum beralih ke UCS
+     */
+    public BidirectionalSearch(int maxGoalStates) {
+        if (maxGoalStates < 1) {
+            throw new IllegalArgumentException("Batas goal state harus minimal 1, ditemukan: " + maxGoalStates);
+        }
+        this.maxGoalStates = maxGoalStates;
+    }
+
+    @Override
+    public List<Board> solve(Board initialBoard, Heuristic heuristic) {
+        return solve(initialBoard, heuristic, SolveOptions.unlimited()).getPath();
+    }
+
+    @Override
+    public SolveResult solve(Board initialBoard, Heuristic heuristic, SolveOptions options) {
+        nodesVisited = 0;
+        long startTime = System.currentTimeMillis();
+        SearchMonitor monitor = new SearchMonitor(options);
+
+        List<Board> goals;
+        try {
+            goals = enumerateGoalStates(initialBoard, monitor);
+        } catch (IllegalStateException e) {
+            // Goal terlalu banyak: UCS hanya mendapat sisa budget
+            UCS fallback = new UCS();
+            SolveResult result = fallback.solve(initialBoard, heuristic, monitor.remaining());
+            nodesVisited = fallback.getNodesVisited();
+            executionTime = System.currentTimeMillis() - startTime;
+            return result;
+        }
+        if (goals == null) {
+            executionTime = System.currentTimeMillis() - startTime;
+            return monitor.finish((Solution) null, nodesVisited, executionTime);
+        }
+
+        Solution path = search(initialBoard, goals, monitor);
+        executionTime = System.currentTimeMillis() - startTime;
+        return monitor.finish(path, nodesVisited, executionTime);
+    }
+
+    private Solution search(Board initialBoard, List<Board> goals, SearchMonitor monitor) {
+        LongIntMap forwardDepth = new LongIntMap();
+        LongIntMap backwardDepth = new LongIntMap(goals.size());
+        LongLongMap forwardParent = new LongLongMap();
+        LongLongMap backwardNext = new LongLongMap();
+
+        long startKey = initialBoard.getZobristKey();
+        forwardDepth.put(startKey, 0);
+        List<Board> forward = new ArrayList<>();
+        forward.add(initialBoard);
+
+        List<Board> backward = new ArrayList<>(goals.size());
+        for (Board goal : goals) {
+            if (!backwardDepth.containsKey(goal.getZobristKey())) {
+                backwardDepth.put(goal.getZobristKey(), 0);
+                backward.add(goal);
+            }
+        }
+        if (backwardDepth.containsKey(startKey)) {
+            nodesVisited = 1;
+            return new Solution(initialBoard, List.of());
+        }
+
+        int forwardRadius = 0;
+        int backwardRadius = 0;
+        int best = Integer.MAX_VALUE;
+        long meetKey = 0L;
+
+        while (!forward.isEmpty() && !backward.isEmpty()) {
+            List<Board> next = new ArrayList<>();
+            if (forward.size() <= backward.size()) {
+                for (Board board : forward) {
+                    nodesVisited++;
+                    if (monitor.expand(forward.size() + backward.size(),
+                            forwardDepth.size() + backwardDepth.size(), -1)) {
+                        return null;
+                    }
+                    long key = board.getZobristKey();
+                    for (Board neighbor : board.generateNeighbors()) {
+                        long neighborKey = neighbor.getZobristKey();
+                        if (forwardDepth.containsKey(neighborKey)) continue;
+                        forwardDepth.put(neighborKey, forwardRadius + 1);
+                        forwardParent.put(neighborKey, key);
+                        next.add(neighbor);
+
+                        int other = backwardDepth.get(neighborKey, -1);
+                        if (other >= 0 && forwardRadius + 1 + other < best) {
+                            best = forwardRadius + 1 + other;
+                            meetKey = neighborKey;
+                        }
+                    }
+                }
+                forward = next;
+                forwardRadius++;
+            } else {
+                for (Board board : backward) {
+                    nodesVisited++;
+                    if (monitor.expand(forward.size() + backward.size(),
+                            forwardDepth.size() + backwardDepth.size(), -1)) {
+                        return null;
+                    }
+                    long key = board.getZobristKey();
+                    for (Board predecessor : board.generatePredecessors()) {
+                        long predecessorKey = predecessor.getZobristKey();
+                        if (backwardDepth.containsKey(predecessorKey)) continue;
+                        backwardDepth.put(predecessorKey, backwardRadius + 1);
+                        backwardNext.put(predecessorKey, key);
+                        next.add(predecessor);
+
+                        int other = forwardDepth.get(predecessorKey, -1);
+                        if (other >= 0 && other + backwardRadius + 1 < best) {
+                            best = other + backwardRadius + 1;
+                            meetKey = predecessorKey;
+                        }
+                    }
+                }
+                backward = next;
+                backwardRadius++;
+            }
+
+            // Selesaikan layer tempat kedua sisi bertemu, lalu berhenti
+            if (best != Integer.MAX_VALUE) {
+                return PathReplay.appendForward(
+                    PathReplay.rebuild(initialBoard, forwardParent, meetKey), backwardNext);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Mengenumerasi goal state puzzle.
+     * @return Goal state, atau null jika monitor menghentikan enumerasi
+     * @throws IllegalStateException jika jumlah goal state melebihi batas
+     */
+    private List<Board> enumerateGoalStates(Board initialBoard, SearchMonitor monitor) {
+        Puzzle puzzle = initialBoard.getPuzzle();
+        int player = puzzle.getPlayerIndex();
+        if (player < 0 || puzzle.getGoalPosition() == Integer.MIN_VALUE) {
+            return Collections.emptyList();
+        }
+
+        // P ditempatkan lebih dulu, lalu mobil lain sesuai indeks
+        int n = puzzle.getCarCount();
+        int[] order = new int[n];
+        order[0] = player;
+        for (int i = 0, k = 1; i < n; i++) {
+            if (i != player) order[k++] = i;
+        }
+
+        int goalPosition = puzzle.getGoalPosition();
+        if (goalPosition < 0 || goalPosition + puzzle.getLength(player) > laneSpan(puzzle, player)) {
+            return Collections.emptyList();
+        }
+        GoalEnumerator enumerator = new GoalEnumerator(initialBoard, order, maxGoalStates, monitor);
+        if (!enumerator.run(goalPosition)) {
+            if (enumerator.stopped) return null;
+            throw new IllegalStateException("Goal state lebih dari " + maxGoalStates + " atau enumerasi terlalu lama");
+        }
+
+        // Board baru dibangun setelah jumlah goal dipastikan di bawah batas
+        List<Board> goals = new ArrayList<>(enumerator.placements.size());
+        for (int[] placement : enumerator.placements) {
+            if (monitor.checkClock(goals.size())) return null;
+            goals.add(initialBoard.withPositions(placement));
+        }
+        return goals;
+    }
+
+    private static int laneSpan(Puzzle puzzle, int car) {
+        return puzzle.isHorizontal(car) ? puzzle.getCols() : puzzle.getRows();
+    }
+
+    private static final class GoalEnumerator {
+        private final Board initialBoard;
+        private final Puzzle puzzle;
+        private final int[] order;
+        private final int[] positions;
+        private final boolean[] occupied;
+        private final List<int[]> placements = new ArrayList<>();
+        private final int limit;
+        private final SearchMonitor monitor;
+        // Batas langkah DFS, agar papan besar cepat jatuh ke fallback
+        private long budget;
+        private long steps;
+        private boolean stopped;
+
+        GoalEnumerator(Board initialBoard, int[] order, int limit, SearchMonitor monitor) {
+            this.initialBoard = initialBoard;
+            this.puzzle = initialBoard.getPuzzle();
+            this.order = order;
+            this.limit = limit;
+            this.monitor = monitor;
+            this.budget = 2L * limit;
+            this.positions = new int[order.length];
+            this.occupied = new boolean[puzzle.getRows() * puzzle.getCols()];
+        }
+
+        boolean run(int goalPosition) {
+            return place(0, goalPosition);
+        }
+
+        private boolean place(int depth, int fixedPosition) {
+            if (--budget < 0) return false;
+            if (monitor.checkClock(steps++)) {
+                stopped = true;
+                return false;
+            }
+            if (depth == order.length) {
+                if (placements.size() == limit) return false;
+                placements.add(positions.clone());
+                return true;
+            }
+            int car = order[depth];
+            int from = depth == 0 ? fixedPosition : 0;
+            int to = depth == 0 ? fixedPosition : laneSpan(puzzle, car) - puzzle.getLength(car);
+            for (int p = from; p <= to; p++) {
+                if (!keepsLaneOrder(depth, car, p) || !mark(car, p, true)) continue;
+                positions[car] = p;
+                boolean ok = place(depth + 1, fixedPosition);
+                mark(car, p, false);
+                if (!ok) return false;
+            }
+            return true;
+        }
+
+        private boolean keepsLaneOrder(int depth, int car, int p) {
+            for (int d = 0; d < depth; d++) {
+                int other = order[d];
+                if (puzzle.isHorizontal(other) != puzzle.isHorizontal(car)
+                        || puzzle.getLane(other) != puzzle.getLane(car)) continue;
+                boolean before = initialBoard.getPosition(car) < initialBoard.getPosition(other);
+                if (before != (p < positions[other])) return false;
+            }
+            return true;
+        }
+
+        private boolean mark(int car, int p, boolean value) {
+            int len = puzzle.getLength(car);
+            if (value) {
+                for (int k = 0; k < len; k++) {
+                    if (occupied[cellOf(car, p + k)]) return false;
+                }
+            }
+            for (int k = 0; k < len; k++) {
+                occupied[cellOf(car, p + k)] = value;
+            }
+            return true;
+        }
+
+        private int cellOf(int car, int q) {
+            return puzzle.isHorizontal(car)
+                ? puzzle.getLane(car) * puzzle.getCols() + q
+                : q * puzzle.getCols() + puzzle.getLane(car);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Bidirectional BFS";
+    }
+
+    @Override
+    public int getNodesVisited() {
+        return nodesVisited;
+    }
+
+    @Override
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    @Override
+    public String getHeuristicName() {
+        return "None";
+    }
+}
@@ -0,0 +1,96 @@
+package backend.algorithm;
+
+import backend.model.Board;
+import backend.model.CanonicalForm;
+import backend.util.Heuristic;
+
+import java.util.List;
+
+/**
+ * Menempatkan {@link SolutionCache} di depan algoritma lain. Puzzle yang sudah
+ * diselesaikan (atau terbukti tidak solvable) oleh algoritma dan heuristik yang sama
+ * dijawab dari cache; jika tidak, algoritma yang dibungkus dijalankan dan hasil yang
+ * pasti disimpan. Key cache memakai nama yang dilaporkan algoritma yang dibungkus saat
+ * solver ini dibuat.
+ *
+ * <p>Papan dicari dan disimpan dalam {@link CanonicalForm}-nya, sehingga varian puzzle
+ * yang dicerminkan, ditransposisi atau dilabel ulang juga menjadi hit; solusi dari cache
+ * dipetakan kembali ke orientasi dan label papan yang sedang diselesaikan.
+ */
+public class CachingSolver implements PathfindingAlgorithm {
+    private final PathfindingAlgorithm delegate;
+    private final SolutionCache cache;
+    private final long solver;
+    private boolean lastHit;
+    private int nodesVisited;
+    private long executionTime;
+
+    /**
+     * @param delegate Algoritma yang dipanggil saat cache miss
+     * @param cache Cache, boleh dipakai bersama oleh banyak solver dan thread
+     */
+    public CachingSolver(PathfindingAlgorithm delegate, SolutionCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.solver = SolutionCache.solverHash(delegate.getName(), delegate.getHeuristicName());
+    }
+
+    @Override
+    public List<Board> solve(Board initialBoard, Heuristic heuristic) {
+        return solve(initialBoard, heuristic, SolveOptions.unlimited()).getPath();
+    }
+
+    @Override
+    public SolveResult solve(Board initialBoard, Heuristic heuristic, SolveOptions options) {
+        long startTime = System.currentTimeMillis();
+        CanonicalForm canonical = CanonicalForm.of(initialBoard);
+        SolveResult cached = cache.get(canonical.getBoard(), solver);
+        if (cached != null) {
+            lastHit = true;
+            nodesVisited = 0;
+            executionTime = System.currentTimeMillis() - startTime;
+            return new SolveResult(cached.getStatus(),
+                cached.isSolved() ? canonical.toOriginal(cached.getSolution()) : null, 0, 0, executionTime);
+        }
+
+        lastHit = false;
+        SolveResult result = delegate.solve(initialBoard, heuristic, options);
+        cache.put(canonical.getBoard(), solver, !result.isSolved() ? result
+            : new SolveResult(result.getStatus(), canonical.toCanonical(result.getSolution()),
+                result.getNodesVisited(), result.getPeakFrontier(), result.getExecutionTime()));
+        nodesVisited = delegate.getNodesVisited();
+        executionTime = System.currentTimeMillis() - startTime;
+        return result;
+    }
+
+    /**
+     * @return true jika solve terakhir dijawab dari cache
+     */
+    public boolean isLastHit() {
+        return lastHit;
+    }
+
+    public SolutionCache getCache() {
+        return cache;
+    }
+
+    @Override
+    public String getName() {
+        return lastHit ? delegate.getName() + " (cache)" : delegate.getName();
+    }
+
+    @Override
+    public int getNodesVisited() {
+        return nodesVisited;
+    }
+
+    @Override
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    @Override
+    public String getHeuristicName() {
+        return delegate.getHeuristicName();
+    }
+}
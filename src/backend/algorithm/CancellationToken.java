@@ -0,0 +1,20 @@
+package backend.algorithm;
+
+/**
+ * Flag pembatalan yang dibagikan antara pemanggil dan solver. Solver memeriksanya
+ * secara berkala dan berhenti dengan status {@link SolveResult.Status#CANCELLED}.
+ */
+public final class CancellationToken {
+    private volatile boolean cancelled;
+
+    /**
+     * Meminta solver berhenti. Aman dipanggil dari thread mana pun.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,217 @@
+package backend.algorithm;
+
+import backend.algorithm.support.LongIntMap;
+import backend.exception.StateSpaceLimitException;
+import backend.model.Board;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Tabel jarak eksak ke goal untuk seluruh ruang state terhubung sebuah puzzle,
+ * dihitung dengan analisis retrograde:
+ * <ol>
+ *   <li>BFS maju dari papan awal mengenumerasi semua state yang dapat dicapai;</li>
+ *   <li>BFS mundur dari goal state melalui {@link Board#generatePredecessors()},
+ *       dibatasi pada ruang state tersebut, memberi jarak pada tiap state.</li>
+ * </ol>
+ * Setelah dibangun, jarak optimal dan langkah terbaik berikutnya dari posisi mana pun
+ * cukup dicari di tabel. Tabel berupa array key Zobrist terurut ditambah satu byte
+ * jarak per key; di disk ditulis setelah header kecil dan di-memory-map saat dimuat.
+ */
+public final class DistanceDatabase {
+    /** Jarak untuk state yang tidak bisa mencapai goal. */
+    public static final int UNSOLVABLE = StateSpace.UNSOLVABLE;
+    /** Jarak untuk state yang tidak ada di tabel. */
+    public static final int UNKNOWN = -1;
+    public static final int MAX_STATES = 1 << 23;
+
+    private static final int MAGIC = 0x52484442; // "RHDB"
+    // Versi 2: key Zobrist dari tabel datar per indeks mobil
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 32;
+
+    private final long fingerprint;
+    private final int size;
+    private final LongBuffer keys;
+    private final ByteBuffer distances;
+
+    private DistanceDatabase(long fingerprint, LongBuffer keys, ByteBuffer distances) {
+        this.fingerprint = fingerprint;
+        this.size = keys.limit();
+        this.keys = keys;
+        this.distances = distances;
+    }
+
+    /**
+     * Membangun tabel untuk ruang state terhubung dari sebuah papan.
+     * @param initialBoard State mana pun dari puzzle
+     * @return Tabel jarak
+     * @throws StateSpaceLimitException jika ruang state lebih dari {@link #MAX_STATES} state
+     */
+    public static DistanceDatabase build(Board initialBoard) {
+        return build(initialBoard, new SearchMonitor(SolveOptions.unlimited()), MAX_STATES);
+    }
+
+    /**
+     * @param maxStates Jumlah state maksimal yang dienumerasi, paling banyak {@link #MAX_STATES}
+     * @return Tabel jarak, atau null jika monitor menghentikan enumerasi
+     * @throws StateSpaceLimitException jika ruang state lebih dari {@code maxStates} state
+     */
+    static DistanceDatabase build(Board initialBoard, SearchMonitor monitor, int maxStates) {
+        StateSpace space = StateSpace.explore(initialBoard, monitor, maxStates);
+        if (space == null) return null;
+
+        // Urutkan key agar lookup cukup dengan binary search
+        int count = space.size();
+        long[] sorted = new long[count];
+        LongIntMap index = new LongIntMap(count);
+        for (int i = 0; i < count; i++) {
+            sorted[i] = space.key(i);
+            index.put(sorted[i], i);
+        }
+        Arrays.sort(sorted);
+        byte[] sortedDistance = new byte[count];
+        for (int i = 0; i < count; i++) {
+            sortedDistance[i] = (byte) space.distance(index.get(sorted[i], -1));
+        }
+        return new DistanceDatabase(initialBoard.getPuzzle().getFingerprint(),
+                LongBuffer.wrap(sorted), ByteBuffer.wrap(sortedDistance));
+    }
+
+    /**
+     * Menulis tabel ke file.
+     * @param file File tujuan
+     * @throws IOException jika penulisan gagal
+     */
+    public void save(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putLong(fingerprint).putInt(size);
+        header.position(HEADER_BYTES).flip();
+
+        ByteBuffer body = ByteBuffer.allocate(size * 8).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < size; i++) body.putLong(keys.get(i));
+        body.flip();
+        ByteBuffer dist = distances.duplicate();
+        dist.clear().limit(size);
+
+        // File sementara unik: beberapa solver bisa membangun puzzle yang sama bersamaan
+        Path dir = file.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (header.hasRemaining()) channel.write(header);
+                while (body.hasRemaining()) channel.write(body);
+                while (dist.hasRemaining()) channel.write(dist);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+    }
+
+    /**
+     * Memetakan file tabel ke memori.
+     * @param file File tabel yang ditulis oleh {@link #save(Path)}
+     * @return Tabel jarak
+     * @throws IOException jika file tidak dapat dibaca atau bukan tabel yang valid
+     */
+    public static DistanceDatabase load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            map.order(ByteOrder.LITTLE_ENDIAN);
+            if (channel.size() < HEADER_BYTES || map.getInt(0) != MAGIC || map.getInt(4) != VERSION) {
+                throw new IOException("Bukan file distance database yang valid: " + file);
+            }
+            long fingerprint = map.getLong(8);
+            int size = map.getInt(16);
+            if (channel.size() != HEADER_BYTES + size * 9L) {
+                throw new IOException("Ukuran file distance database tidak sesuai: " + file);
+            }
+
+            LongBuffer keys = map.position(HEADER_BYTES).slice()
+                    .order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+            keys.limit(size);
+            ByteBuffer distances = map.position(HEADER_BYTES + size * 8).slice();
+            return new DistanceDatabase(fingerprint, keys, distances);
+        }
+    }
+
+    /**
+     * Mendapatkan jumlah langkah optimal dari sebuah state ke goal terdekat.
+     * @param board State yang dicari
+     * @return Jarak, {@link #UNSOLVABLE}, atau {@link #UNKNOWN} jika state tidak ada di tabel
+     */
+    public int distance(Board board) {
+        if (board.getPuzzle().getFingerprint() != fingerprint) return UNKNOWN;
+        int i = find(board.getZobristKey());
+        return i < 0 ? UNKNOWN : distances.get(i) & 0xFF;
+    }
+
+    public boolean contains(Board board) {
+        return distance(board) != UNKNOWN;
+    }
+
+    /**
+     * Mendapatkan successor yang satu langkah lebih dekat ke goal.
+     * @param board State saat ini
+     * @return Successor terbaik, atau null jika state adalah goal, tidak terpecahkan atau tidak dikenal
+     * @throws IllegalStateException jika tidak ada successor dengan jarak satu lebih kecil (tabel rusak)
+     */
+    public Board bestMove(Board board) {
+        int d = distance(board);
+        if (d == UNKNOWN || d == UNSOLVABLE || d == 0) return null;
+        for (Board neighbor : board.generateNeighbors()) {
+            if (distance(neighbor) == d - 1) return neighbor;
+        }
+        throw new IllegalStateException("Tabel jarak tidak konsisten");
+    }
+
+    /**
+     * Menelusuri tabel dari sebuah state sampai goal.
+     * @param board State awal
+     * @return Urutan papan optimal, atau daftar kosong jika tidak terpecahkan atau tidak dikenal
+     * @throws IllegalStateException jika tabel tidak konsisten (tabel rusak)
+     */
+    public List<Board> solutionFrom(Board board) {
+        int d = distance(board);
+        if (d == UNKNOWN || d == UNSOLVABLE) return Collections.emptyList();
+        List<Board> path = new ArrayList<>(d + 1);
+        path.add(board);
+        for (Board next = bestMove(board); next != null; next = bestMove(next)) {
+            path.add(next);
+        }
+        return path;
+    }
+
+    private int find(long key) {
+        int lo = 0, hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long k = keys.get(mid);
+            if (k < key) lo = mid + 1;
+            else if (k > key) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    /**
+     * Mendapatkan jumlah state di tabel.
+     * @return Jumlah state
+     */
+    public int size() {
+        return size;
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+}
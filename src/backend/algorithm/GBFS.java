@@ -1,70 +1,87 @@
 package backend.algorithm;
 
 import java.util.*;
+import backend.algorithm.support.BucketQueue;
+import backend.algorithm.support.LongIntMap;
+import backend.algorithm.support.LongLongMap;
+import backend.algorithm.support.OpenList;
+import backend.algorithm.support.OpenList.TieBreak;
+import backend.algorithm.support.PathReplay;
 import backend.model.Board;
 import backend.util.Heuristic;
+import backend.util.IncrementalHeuristic;
 
 public class GBFS implements PathfindingAlgorithm {
     private int nodesVisited;
     private long executionTime;
     private Heuristic heuristic;
+    private final TieBreak tieBreak;
 
     public GBFS(Heuristic heuristic) {
+        this(heuristic, TieBreak.FIFO);
+    }
+
+    /**
+     * @param heuristic Heuristik yang digunakan
+     * @param tieBreak Urutan ekspansi node dengan nilai h yang sama
+     */
+    public GBFS(Heuristic heuristic, TieBreak tieBreak) {
         this.heuristic = heuristic;
+        this.tieBreak = tieBreak;
     }
 
     @Override
     public List<Board> solve(Board initialBoard, Heuristic heuristic) {
+        return solve(initialBoard, heuristic, SolveOptions.unlimited()).getPath();
+    }
+
+    @Override
+    public SolveResult solve(Board initialBoard, Heuristic heuristic, SolveOptions options) {
         nodesVisited = 0;
         long startTime = System.currentTimeMillis();
+        SearchMonitor monitor = new SearchMonitor(options);
 
-        PriorityQueue<GBFSNode> openSet = new PriorityQueue<>(
-                Comparator.comparingInt(node -> node.heuristicValue));
+        OpenList<GBFSNode> openSet = new BucketQueue<>(tieBreak);
 
-        Map<Board, Integer> bestHeuristics = new HashMap<>();
+        LongIntMap bestHeuristics = new LongIntMap();
+        LongLongMap parents = new LongLongMap();
 
-        openSet.add(new GBFSNode(initialBoard, null, heuristic.estimate(initialBoard), 0));
-        bestHeuristics.put(initialBoard, heuristic.estimate(initialBoard));
+        GBFSNode startNode = new GBFSNode(initialBoard, heuristic.estimate(initialBoard), 0);
+        openSet.add(startNode, startNode.heuristicValue);
+        bestHeuristics.put(initialBoard.getZobristKey(), heuristic.estimate(initialBoard));
 
         while (!openSet.isEmpty()) {
             GBFSNode currentNode = openSet.poll();
             nodesVisited++;
+            long currentKey = currentNode.getBoard().getZobristKey();
 
-            if (bestHeuristics.get(currentNode.getBoard()) < currentNode.heuristicValue) {
+            if (bestHeuristics.get(currentKey, Integer.MAX_VALUE) < currentNode.heuristicValue) {
                 continue;
             }
+            if (monitor.expand(openSet.size(), bestHeuristics.size(), currentNode.heuristicValue)) {
+                break;
+            }
 
             if (currentNode.getBoard().isGoal()) {
                 executionTime = System.currentTimeMillis() - startTime;
-                return reconstructPath(currentNode);
+                return monitor.finish(PathReplay.rebuild(initialBoard, parents, currentKey), nodesVisited, executionTime);
             }
 
-            for (Board neighbor : currentNode.getBoard().generateNeighbors(
-                    currentNode.getBoard().getZobristTable())) {
-                
-                int newHeuristic = heuristic.estimate(neighbor);
+            for (Board neighbor : currentNode.getBoard().generateNeighbors()) {
+                long neighborKey = neighbor.getZobristKey();
+                int newHeuristic = IncrementalHeuristic.estimateChild(
+                    heuristic, currentNode.getBoard(), currentNode.heuristicValue, neighbor);
                 
-                if (!bestHeuristics.containsKey(neighbor) || 
-                    newHeuristic < bestHeuristics.get(neighbor)) {
-                    
-                    bestHeuristics.put(neighbor, newHeuristic);
-                    openSet.add(new GBFSNode(neighbor, currentNode, newHeuristic, currentNode.cost + 1));
+                if (newHeuristic < bestHeuristics.get(neighborKey, Integer.MAX_VALUE)) {
+                    bestHeuristics.put(neighborKey, newHeuristic);
+                    parents.put(neighborKey, currentKey);
+                    openSet.add(new GBFSNode(neighbor, newHeuristic, currentNode.cost + 1), newHeuristic);
                 }
             }
         }
 
         executionTime = System.currentTimeMillis() - startTime;
-        return Collections.emptyList();
-    }
-
-    private List<Board> reconstructPath(GBFSNode node) {
-        List<Board> path = new ArrayList<>();
-        while (node != null) {
-            path.add(node.getBoard());
-            node = (GBFSNode) node.getParent();
-        }
-        Collections.reverse(path);
-        return path;
+        return monitor.finish(Collections.emptyList(), nodesVisited, executionTime);
     }
 
     @Override
@@ -89,13 +106,11 @@ public class GBFS implements PathfindingAlgorithm {
 
     private static class GBFSNode implements SearchNode {
         private final Board board;
-        private final SearchNode parent;
         int heuristicValue;
         int cost;
 
-        public GBFSNode(Board board, SearchNode parent, int heuristicValue, int cost) {
+        public GBFSNode(Board board, int heuristicValue, int cost) {
             this.board = board;
-            this.parent = parent;
             this.heuristicValue = heuristicValue;
             this.cost = cost;
         }
@@ -107,7 +122,7 @@ public class GBFS implements PathfindingAlgorithm {
 
         @Override
         public SearchNode getParent() {
-            return parent;
+            return null;
         }
 
         @Override
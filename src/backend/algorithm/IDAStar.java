@@ -0,0 +1,178 @@
+package backend.algorithm;
+
+import backend.algorithm.support.TranspositionTable;
+import backend.model.Board;
+import backend.util.Heuristic;
+import backend.util.IncrementalHeuristic;
+
+import java.util.*;
+
+/**
+ * Iterative-deepening A*. Tiap iterasi adalah depth-first search yang dibatasi
+ * f = g + h; batas berikutnya adalah f terkecil yang melampaui batas saat ini.
+ * Hanya path saat ini yang disimpan, sehingga memori tidak bertambah seiring jumlah
+ * state yang dibangkitkan. Successor dicoba terurut dari nilai heuristik terkecil.
+ *
+ * <p>{@link TranspositionTable} berukuran tetap (opsional) memangkas state yang sudah
+ * dicapai dengan biaya lebih kecil atau sama pada iterasi yang sama.
+ */
+public class IDAStar implements PathfindingAlgorithm {
+    public static final int DEFAULT_TABLE_SIZE = 1 << 20;
+
+    private static final int FOUND = -1;
+    private static final int STOPPED = -2;
+
+    private final Heuristic heuristic;
+    private final int tableSize;
+    private int nodesVisited;
+    private long executionTime;
+
+    private TranspositionTable table;
+    private Heuristic activeHeuristic;
+    private SearchMonitor monitor;
+    private final List<Board> path = new ArrayList<>();
+
+    public IDAStar(Heuristic heuristic) {
+        this(heuristic, DEFAULT_TABLE_SIZE);
+    }
+
+    /**
+     * @param heuristic Heuristik yang digunakan
+     * @param tableSize Jumlah slot transposition table; 0 untuk menonaktifkan
+     */
+    public IDAStar(Heuristic heuristic, int tableSize) {
+        if (tableSize < 0) {
+            throw new IllegalArgumentException("Ukuran tabel tidak boleh negatif: " + tableSize);
+        }
+        this.heuristic = heuristic;
+        this.tableSize = tableSize;
+    }
+
+    @Override
+    public List<Board> solve(Board initialBoard, Heuristic heuristic) {
+        return solve(initialBoard, heuristic, SolveOptions.unlimited()).getPath();
+    }
+
+    @Override
+    public SolveResult solve(Board initialBoard, Heuristic heuristic, SolveOptions options) {
+        nodesVisited = 0;
+        long startTime = System.currentTimeMillis();
+
+        monitor = new SearchMonitor(options);
+        activeHeuristic = heuristic;
+        table = tableSize > 0 ? new TranspositionTable(tableSize) : null;
+        path.clear();
+        path.add(initialBoard);
+
+        int rootH = estimate(initialBoard);
+        int bound = rootH;
+        List<Board> result = Collections.emptyList();
+        while (true) {
+            if (table != null) table.nextIteration();
+            int t = search(0, rootH, bound);
+            if (t == FOUND) {
+                result = new ArrayList<>(path);
+                break;
+            }
+            if (t == Integer.MAX_VALUE || t == STOPPED) {
+                break;
+            }
+            bound = t;
+        }
+
+        path.clear();
+        table = null;
+        executionTime = System.currentTimeMillis() - startTime;
+        SolveResult solveResult = monitor.finish(result, nodesVisited, executionTime);
+        monitor = null;
+        return solveResult;
+    }
+
+    /**
+     * @param h Nilai heuristik state di ujung path
+     * @return FOUND jika goal ditemukan, STOPPED jika batas pencarian tercapai,
+     *         selain itu f terkecil yang melebihi bound
+     */
+    private int search(int g, int h, int bound) {
+        Board board = path.get(path.size() - 1);
+        nodesVisited++;
+        if (monitor.expand(path.size(), path.size(), h)) {
+            return STOPPED;
+        }
+
+        if (board.isGoal()) {
+            return FOUND;
+        }
+
+        List<Board> neighbors = board.generateNeighbors();
+        int n = neighbors.size();
+        Board[] children = new Board[n];
+        int[] estimates = new int[n];
+        int count = 0;
+        for (Board child : neighbors) {
+            if (isOnPath(child.getZobristKey())) continue;
+            int childH = activeHeuristic == null ? 0
+                : IncrementalHeuristic.estimateChild(activeHeuristic, board, h, child);
+            // Urutkan berdasarkan heuristik (insertion sort, n kecil)
+            int i = count++;
+            while (i > 0 && estimates[i - 1] > childH) {
+                children[i] = children[i - 1];
+                estimates[i] = estimates[i - 1];
+                i--;
+            }
+            children[i] = child;
+            estimates[i] = childH;
+        }
+
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            int f = g + 1 + estimates[i];
+            if (f > bound) {
+                min = Math.min(min, f);
+                continue;
+            }
+            if (table != null && table.seenAtOrBelow(children[i].getZobristKey(), g + 1)) {
+                continue;
+            }
+            path.add(children[i]);
+            int t = search(g + 1, estimates[i], bound);
+            if (t == FOUND || t == STOPPED) {
+                return t;
+            }
+            path.remove(path.size() - 1);
+            min = Math.min(min, t);
+        }
+        return min;
+    }
+
+    private boolean isOnPath(long key) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            if (path.get(i).getZobristKey() == key) return true;
+        }
+        return false;
+    }
+
+    private int estimate(Board board) {
+        return activeHeuristic == null ? 0 : activeHeuristic.estimate(board);
+    }
+
+    @Override
+    public String getName() {
+        return "Iterative Deepening A* (IDA*)";
+    }
+
+    @Override
+    public int getNodesVisited() {
+        return nodesVisited;
+    }
+
+    @Override
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    @Override
+    public String getHeuristicName() {
+        return heuristic == null ? "None" : heuristic.getName();
+    }
+}
@@ -0,0 +1,230 @@
+package backend.algorithm;
+
+import backend.algorithm.support.LongLongMap;
+import backend.algorithm.support.LongSet;
+import backend.algorithm.support.PathReplay;
+import backend.model.Board;
+import backend.model.Move;
+import backend.model.Solution;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * BFS level-synchronous yang tiap layer-nya diekspansi di fork-join pool.
+ *
+ * <p>Setiap layer berjalan dalam tiga fase:
+ * <ol>
+ *   <li>frontier dipotong menjadi chunk dan tiap chunk membangkitkan successor-nya
+ *       secara paralel, membuang state yang sudah dikunjungi di layer sebelumnya;
+ *       kandidat hanya menyimpan key, key induk dan langkah yang menghasilkannya;</li>
+ *   <li>kandidat dideduplikasi per shard ruang key; tiap shard memiliki visited set
+ *       dan tabel induk sendiri dan memindai kandidat sesuai urutan frontier;</li>
+ *   <li>hanya kandidat yang diterima yang dibangun menjadi papan, disusun sesuai
+ *       urutan frontier menjadi layer berikutnya.</li>
+ * </ol>
+ * Jam, pembatalan dan batas state tersimpan dari monitor juga diperiksa selama fase 1,
+ * dengan kandidat yang sedang ditampung ikut dihitung sebagai state tersimpan,
+ * sehingga layer yang sangat besar menghentikan pencarian alih-alih kehabisan memori.
+ * Sebuah state selalu diklaim oleh penemu pertama dalam urutan frontier, persis
+ * seperti BFS serial pada {@link UCS}, sehingga induk, jumlah node dan path yang
+ * dikembalikan sama dengan pencarian serial.
+ */
+class ParallelLayerSearch {
+    private static final int SHARD_BITS = 6;
+    private static final int SHARDS = 1 << SHARD_BITS;
+    private static final int MIN_CHUNK = 256;
+    private static final int CHECK_STRIDE = 64;
+
+    private final ForkJoinPool pool;
+    private final LongSet[] visited = new LongSet[SHARDS];
+    private final LongLongMap[] parents = new LongLongMap[SHARDS];
+    private int nodesVisited;
+    private int storedStates = 1;
+    private final AtomicLong candidates = new AtomicLong();
+    private volatile boolean stopped;
+
+    ParallelLayerSearch(ForkJoinPool pool) {
+        this.pool = pool;
+        for (int s = 0; s < SHARDS; s++) {
+            visited[s] = new LongSet();
+            parents[s] = new LongLongMap();
+        }
+    }
+
+    int getNodesVisited() {
+        return nodesVisited;
+    }
+
+    /**
+     * @return Solusi, atau null jika tidak ditemukan atau monitor menghentikan pencarian
+     */
+    Solution solve(Board initialBoard, SearchMonitor monitor) {
+        long rootKey = initialBoard.getZobristKey();
+        visited[shardOf(rootKey)].add(rootKey);
+
+        List<Board> frontier = new ArrayList<>();
+        frontier.add(initialBoard);
+
+        while (!frontier.isEmpty()) {
+            // Node pada layer ini "dikunjungi" sesuai urutan BFS serial
+            for (int i = 0; i < frontier.size(); i++) {
+                if (frontier.get(i).isGoal()) {
+                    nodesVisited += i + 1;
+                    return PathReplay.rebuild(initialBoard, parentChain(rootKey, frontier.get(i)),
+                            frontier.get(i).getZobristKey());
+                }
+            }
+            nodesVisited += frontier.size();
+            int expanded = frontier.size();
+            frontier = expandLayer(frontier, monitor);
+            if (frontier == null) {
+                break;
+            }
+            storedStates += frontier.size();
+            if (monitor.expandLayer(expanded, frontier.size(), storedStates)) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Layer berikutnya, atau null jika monitor menghentikan pencarian di tengah layer
+     */
+    private List<Board> expandLayer(List<Board> frontier, SearchMonitor monitor) {
+        int chunkSize = Math.max(MIN_CHUNK, frontier.size() / (pool.getParallelism() * 4) + 1);
+        int chunkCount = (frontier.size() + chunkSize - 1) / chunkSize;
+        Chunk[] chunks = new Chunk[chunkCount];
+        candidates.set(0);
+
+        // Fase 1: bangkitkan successor per chunk (tabel visited hanya dibaca)
+        run(chunkCount, c -> {
+            int from = c * chunkSize;
+            int to = Math.min(frontier.size(), from + chunkSize);
+            Chunk chunk = new Chunk();
+            int reported = 0;
+            for (int i = from; i < to && !stopped; i++) {
+                Board board = frontier.get(i);
+                long parentKey = board.getZobristKey();
+                for (Board neighbor : board.generateNeighbors()) {
+                    long key = neighbor.getZobristKey();
+                    if (!visited[shardOf(key)].contains(key)) {
+                        chunk.add(key, parentKey, i, neighbor.getLastMove(), shardOf(key));
+                    }
+                }
+                if ((i - from) % CHECK_STRIDE == CHECK_STRIDE - 1) {
+                    long held = candidates.addAndGet(chunk.size - reported);
+                    reported = chunk.size;
+                    check(monitor, held);
+                }
+            }
+            chunk.accepted = new boolean[chunk.size];
+            chunks[c] = chunk;
+        });
+        if (stopped) {
+            return null;
+        }
+
+        // Fase 2: deduplikasi per shard, urut chunk lalu urut kandidat
+        run(SHARDS, s -> {
+            LongSet seen = visited[s];
+            LongLongMap parentOf = parents[s];
+            for (Chunk chunk : chunks) {
+                int[] indices = chunk.byShard[s];
+                for (int j = 0; j < chunk.shardSize[s]; j++) {
+                    int idx = indices[j];
+                    if (seen.add(chunk.keys[idx])) {
+                        parentOf.put(chunk.keys[idx], chunk.parentKeys[idx]);
+                        chunk.accepted[idx] = true;
+                    }
+                }
+            }
+        });
+
+        // Fase 3: bangun papan kandidat yang diterima, dalam urutan penemuan
+        int total = 0;
+        for (Chunk chunk : chunks) {
+            for (int idx = 0; idx < chunk.size; idx++) {
+                if (chunk.accepted[idx]) total++;
+            }
+        }
+        List<Board> next = new ArrayList<>(total);
+        for (Chunk chunk : chunks) {
+            for (int idx = 0; idx < chunk.size; idx++) {
+                if (chunk.accepted[idx]) next.add(frontier.get(chunk.parents[idx]).apply(chunk.moves[idx]));
+            }
+        }
+        return next;
+    }
+
+    // Monitor tidak thread-safe: hanya satu worker yang memeriksanya pada satu waktu
+    private void check(SearchMonitor monitor, long held) {
+        synchronized (monitor) {
+            if (!stopped && (monitor.checkStored(storedStates + held) || monitor.checkClock())) {
+                stopped = true;
+            }
+        }
+    }
+
+    private void run(int tasks, java.util.function.IntConsumer body) {
+        if (tasks == 1) {
+            body.accept(0);
+            return;
+        }
+        pool.submit(() -> IntStream.range(0, tasks).parallel().forEach(body)).join();
+    }
+
+    private LongLongMap parentChain(long rootKey, Board goal) {
+        LongLongMap chain = new LongLongMap();
+        long key = goal.getZobristKey();
+        while (key != rootKey) {
+            long parent = parents[shardOf(key)].get(key, rootKey);
+            chain.put(key, parent);
+            key = parent;
+        }
+        return chain;
+    }
+
+    private static int shardOf(long key) {
+        return (int) (key >>> (64 - SHARD_BITS));
+    }
+
+    // Kandidat disimpan sebagai kunci, kunci induk, indeks induk di frontier dan Move bersama milik Puzzle
+    private static final class Chunk {
+        long[] keys = new long[64];
+        long[] parentKeys = new long[64];
+        int[] parents = new int[64];
+        Move[] moves = new Move[64];
+        boolean[] accepted;
+        final int[][] byShard = new int[SHARDS][];
+        final int[] shardSize = new int[SHARDS];
+        int size;
+
+        void add(long key, long parentKey, int parent, Move move, int shard) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size << 1);
+                parentKeys = Arrays.copyOf(parentKeys, size << 1);
+                parents = Arrays.copyOf(parents, size << 1);
+                moves = Arrays.copyOf(moves, size << 1);
+            }
+            keys[size] = key;
+            parentKeys[size] = parentKey;
+            parents[size] = parent;
+            moves[size] = move;
+
+            int[] indices = byShard[shard];
+            if (indices == null) {
+                indices = new int[8];
+                byShard[shard] = indices;
+            } else if (shardSize[shard] == indices.length) {
+                indices = Arrays.copyOf(indices, indices.length << 1);
+                byShard[shard] = indices;
+            }
+            indices[shardSize[shard]++] = size;
+            size++;
+        }
+    }
+}
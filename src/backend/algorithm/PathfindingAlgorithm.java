@@ -3,6 +3,7 @@ package backend.algorithm;
 import backend.model.Board;
 import backend.util.Heuristic;
 
+import java.util.Collections;
 import java.util.List;
 
 public interface PathfindingAlgorithm {
@@ -14,6 +15,26 @@ public interface PathfindingAlgorithm {
      */
 
     List<Board> solve(Board initialBoard, Heuristic heuristic);
+
+    /**
+     * Menyelesaikan puzzle dengan batas waktu, batas node/state, pembatalan dan
+     * callback progress sesuai {@code options}.
+     * Implementasi bawaan hanya memeriksa pembatalan dan deadline sebelum
+     * {@link #solve(Board, Heuristic)}; algoritma yang mendukung
+     * penghentian di tengah pencarian meng-override method ini.
+     * @param initialBoard Konfigurasi papan awal
+     * @param heuristic Heuristik yang digunakan
+     * @param options Batas dan callback pencarian
+     * @return Hasil terstruktur beserta statusnya
+     */
+    default SolveResult solve(Board initialBoard, Heuristic heuristic, SolveOptions options) {
+        SearchMonitor monitor = new SearchMonitor(options);
+        if (monitor.checkClock()) {
+            return monitor.finish(Collections.emptyList(), 0, 0);
+        }
+        List<Board> path = solve(initialBoard, heuristic);
+        return monitor.finish(path, getNodesVisited(), getExecutionTime());
+    }
     
     /**
      * Mendapatkan nama algoritma.
@@ -0,0 +1,321 @@
+package backend.algorithm;
+
+import backend.model.Board;
+import backend.util.Heuristic;
+import backend.util.HeuristicBlocking;
+import backend.util.HeuristicManhattan;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Menjalankan beberapa pasangan (algoritma, heuristik) sekaligus di thread terpisah.
+ * <ul>
+ *   <li>{@link Mode#FIRST_SOLUTION}: anggota pertama yang menemukan solusi menang dan
+ *       anggota lain dibatalkan;</li>
+ *   <li>{@link Mode#BEST_WITHIN_BUDGET}: setiap anggota berjalan sampai selesai atau
+ *       budget waktu habis, dan solusi terpendek yang menang.</li>
+ * </ul>
+ * Anggota yang menghabiskan ruang state membuktikan puzzle tidak terpecahkan, sehingga
+ * perlombaan berhenti di situ pada kedua mode. Heuristik yang diberikan ke {@code solve}
+ * diabaikan karena tiap anggota membawa heuristiknya sendiri. Statistik tiap anggota
+ * pada perlombaan terakhir tersedia lewat {@link #getMemberStats()}. Snapshot progress
+ * yang dikirim ke listener pemanggil berisi total dari semua anggota.
+ */
+public class PortfolioSolver implements PathfindingAlgorithm {
+    public enum Mode {
+        FIRST_SOLUTION,
+        BEST_WITHIN_BUDGET
+    }
+
+    private static final long POLL_MS = 20;
+
+    private final Mode mode;
+    private final Duration budget;
+    private final List<Member> members = new ArrayList<>();
+    private List<MemberStats> memberStats = Collections.emptyList();
+    private MemberStats winner;
+    private int nodesVisited;
+    private long executionTime;
+
+    /**
+     * Membuat portfolio bawaan (GBFS+Blocking, A*+Blocking, A*+Manhattan, UCS)
+     * dalam mode {@link Mode#FIRST_SOLUTION}.
+     */
+    public PortfolioSolver() {
+        this(Mode.FIRST_SOLUTION, null);
+        add("GBFS + Blocking", () -> new GBFS(new HeuristicBlocking()), new HeuristicBlocking());
+        add("A* + Blocking", () -> new AStar(new HeuristicBlocking()), new HeuristicBlocking());
+        add("A* + Manhattan", () -> new AStar(new HeuristicManhattan()), new HeuristicManhattan());
+        add("UCS", UCS::new, null);
+    }
+
+    /**
+     * @param mode Cara memilih pemenang
+     * @param budget Batas waktu tiap anggota, atau null tanpa batas
+     */
+    public PortfolioSolver(Mode mode, Duration budget) {
+        if (budget != null && budget.isNegative()) {
+            throw new IllegalArgumentException("Budget tidak boleh negatif: " + budget);
+        }
+        this.mode = mode;
+        this.budget = budget;
+    }
+
+    /**
+     * Menambahkan anggota portfolio. Algoritma dibuat ulang tiap solve karena
+     * menyimpan statistik per instance.
+     * @param label Nama anggota pada statistik
+     * @param factory Pembuat instance algoritma
+     * @param heuristic Heuristik anggota, atau null
+     * @return Portfolio ini
+     */
+    public PortfolioSolver add(String label, Supplier<PathfindingAlgorithm> factory, Heuristic heuristic) {
+        members.add(new Member(label, factory, heuristic));
+        return this;
+    }
+
+    @Override
+    public List<Board> solve(Board initialBoard, Heuristic heuristic) {
+        return solve(initialBoard, heuristic, SolveOptions.unlimited()).getPath();
+    }
+
+    @Override
+    public SolveResult solve(Board initialBoard, Heuristic heuristic, SolveOptions options) {
+        if (members.isEmpty()) {
+            throw new IllegalStateException("Portfolio tidak memiliki anggota");
+        }
+        nodesVisited = 0;
+        winner = null;
+        long startTime = System.currentTimeMillis();
+        SearchMonitor monitor = new SearchMonitor(options);
+
+        int n = members.size();
+        CancellationToken[] tokens = new CancellationToken[n];
+        MemberStats[] stats = new MemberStats[n];
+        // Snapshot terakhir tiap anggota; digabung di thread ini sebelum dikirim ke listener
+        AtomicReferenceArray<SolveProgress> progress = new AtomicReferenceArray<>(n);
+        ExecutorService pool = Executors.newFixedThreadPool(n, r -> {
+            Thread t = new Thread(r, "portfolio-member");
+            t.setDaemon(true);
+            return t;
+        });
+        CompletionService<Integer> done = new ExecutorCompletionService<>(pool);
+
+        try {
+            for (int i = 0; i < n; i++) {
+                int index = i;
+                Member member = members.get(i);
+                tokens[i] = new CancellationToken();
+                SolveOptions memberOptions = memberOptions(options, tokens[i], p -> progress.set(index, p));
+                done.submit(() -> {
+                    PathfindingAlgorithm algorithm = member.factory.get();
+                    SolveResult result = algorithm.solve(initialBoard, member.heuristic, memberOptions);
+                    stats[index] = new MemberStats(member.label, algorithm, result);
+                    return index;
+                });
+            }
+
+            SolveResult best = null;
+            int finished = 0;
+            boolean stopping = false;
+            while (finished < n) {
+                Future<Integer> future = done.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (!stopping && checkClock(monitor, progress)) {
+                    stopping = true;
+                    cancelAll(tokens);
+                }
+                if (future == null) continue;
+                finished++;
+
+                MemberStats member = stats[getIndex(future)];
+                SolveResult result = member.result;
+                if (result.isSolved() && (best == null
+                        || result.getSteps() < best.getSteps())) {
+                    best = result;
+                    winner = member;
+                }
+                if (result.getStatus() == SolveResult.Status.EXHAUSTED && best == null) {
+                    best = result;
+                    winner = member;
+                }
+                if (!stopping && (result.getStatus() == SolveResult.Status.EXHAUSTED
+                        || (mode == Mode.FIRST_SOLUTION && result.isSolved()))) {
+                    stopping = true;
+                    cancelAll(tokens);
+                }
+            }
+
+            memberStats = List.of(stats);
+            for (MemberStats s : stats) nodesVisited += s.result.getNodesVisited();
+            executionTime = System.currentTimeMillis() - startTime;
+            return new SolveResult(overallStatus(best, options),
+                    best != null && best.isSolved() ? best.getSolution() : null,
+                    nodesVisited, peakFrontier(stats), executionTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Portfolio terinterupsi", e);
+        } finally {
+            // Juga saat anggota gagal: anggota lain jangan dibiarkan berjalan tanpa batas
+            cancelAll(tokens);
+            pool.shutdown();
+        }
+    }
+
+    private SolveOptions memberOptions(SolveOptions options, CancellationToken token,
+                                       Consumer<SolveProgress> listener) {
+        SolveOptions.Builder builder = SolveOptions.builder()
+            .cancellation(token)
+            .deadline(options.getDeadline());
+        Duration timeout = shorter(budget, options.getTimeout());
+        if (timeout != null) builder.timeout(timeout);
+        if (options.getMaxNodes() != Long.MAX_VALUE) builder.maxNodes(options.getMaxNodes());
+        if (options.getMaxStoredStates() != Long.MAX_VALUE) builder.maxStoredStates(options.getMaxStoredStates());
+        if (options.getProgressListener() != null) builder.onProgress(listener, Duration.ofMillis(POLL_MS));
+        return builder.build();
+    }
+
+    private static boolean checkClock(SearchMonitor monitor, AtomicReferenceArray<SolveProgress> progress) {
+        long expanded = 0;
+        int frontier = 0, stored = 0, best = -1;
+        for (int i = 0; i < progress.length(); i++) {
+            SolveProgress p = progress.get(i);
+            if (p == null) continue;
+            expanded += p.getNodesExpanded();
+            frontier += p.getFrontierSize();
+            stored += p.getStoredStates();
+            if (p.getBestHeuristic() >= 0 && (best < 0 || p.getBestHeuristic() < best)) best = p.getBestHeuristic();
+        }
+        return monitor.checkClock(expanded, frontier, stored, best);
+    }
+
+    private static Duration shorter(Duration a, Duration b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private static SolveResult.Status overallStatus(SolveResult best, SolveOptions options) {
+        if (best != null) return best.getStatus();
+        if (options.getCancellation() != null && options.getCancellation().isCancelled()) {
+            return SolveResult.Status.CANCELLED;
+        }
+        // Tidak ada anggota yang selesai: berarti semuanya terpotong batas
+        return options.getMaxNodes() != Long.MAX_VALUE || options.getMaxStoredStates() != Long.MAX_VALUE
+            ? SolveResult.Status.OUT_OF_BUDGET : SolveResult.Status.TIMED_OUT;
+    }
+
+    private static int peakFrontier(MemberStats[] stats) {
+        int peak = 0;
+        for (MemberStats s : stats) peak = Math.max(peak, s.result.getPeakFrontier());
+        return peak;
+    }
+
+    private static void cancelAll(CancellationToken[] tokens) {
+        for (CancellationToken token : tokens) {
+            if (token != null) token.cancel();
+        }
+    }
+
+    private static int getIndex(Future<Integer> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Portfolio terinterupsi", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Anggota portfolio gagal: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Mendapatkan statistik tiap anggota pada solve terakhir, sesuai urutan penambahan.
+     * @return Statistik anggota
+     */
+    public List<MemberStats> getMemberStats() {
+        return memberStats;
+    }
+
+    /**
+     * Mendapatkan anggota yang hasilnya dipakai pada solve terakhir.
+     * @return Statistik pemenang, atau null jika tidak ada yang selesai
+     */
+    public MemberStats getWinner() {
+        return winner;
+    }
+
+    @Override
+    public String getName() {
+        return winner == null ? "Portfolio" : "Portfolio (" + winner.getLabel() + ")";
+    }
+
+    @Override
+    public int getNodesVisited() {
+        return nodesVisited;
+    }
+
+    @Override
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    @Override
+    public String getHeuristicName() {
+        return winner == null ? "None" : winner.getHeuristicName();
+    }
+
+    private static final class Member {
+        final String label;
+        final Supplier<PathfindingAlgorithm> factory;
+        final Heuristic heuristic;
+
+        Member(String label, Supplier<PathfindingAlgorithm> factory, Heuristic heuristic) {
+            this.label = label;
+            this.factory = factory;
+            this.heuristic = heuristic;
+        }
+    }
+
+    /**
+     * Hasil satu anggota portfolio.
+     */
+    public static final class MemberStats {
+        private final String label;
+        private final String algorithmName;
+        private final String heuristicName;
+        private final SolveResult result;
+
+        MemberStats(String label, PathfindingAlgorithm algorithm, SolveResult result) {
+            this.label = label;
+            this.algorithmName = algorithm.getName();
+            this.heuristicName = algorithm.getHeuristicName();
+            this.result = result;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public String getAlgorithmName() {
+            return algorithmName;
+        }
+
+        public String getHeuristicName() {
+            return heuristicName;
+        }
+
+        public SolveResult getResult() {
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %s, steps=%d, nodes=%d, time=%d ms", label, result.getStatus(),
+                    result.getSteps(), result.getNodesVisited(), result.getExecutionTime());
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package backend.algorithm;
+
+import backend.model.Board;
+import backend.model.Car;
+import backend.model.Parser;
+import backend.model.Puzzle;
+
+import java.util.*;
+
+/**
+ * Membangkitkan puzzle yang sulit. Tiap percobaan menaruh P di exit dan mobil lain di
+ * sel kosong acak, sehingga didapat papan goal yang valid dan solvable dengan batasan
+ * yang sama seperti yang diperiksa {@link Parser}. Seluruh cluster papan itu (semua
+ * state yang dapat dicapai darinya) lalu dijelajahi dengan analisis retrograde, dan
+ * state dengan solusi optimal terpanjang menjadi kandidat puzzle. Kandidat tersulit
+ * dari semua percobaan yang disimpan.
+ *
+ * <p>Hasil pembangkitan hanya bergantung pada pengaturan dan seed, sehingga builder
+ * yang sama selalu menghasilkan puzzle yang sama. Dikonfigurasi lewat {@link #builder()}.
+ */
+public final class PuzzleGenerator {
+    private final int rows;
+    private final int cols;
+    private final int cars;
+    private final int minMoves;
+    private final int attempts;
+    private final int maxStates;
+    private final long seed;
+
+    private PuzzleGenerator(Builder builder) {
+        this.rows = builder.rows;
+        this.cols = builder.cols;
+        this.cars = builder.cars;
+        this.minMoves = builder.minMoves;
+        this.attempts = builder.attempts;
+        this.maxStates = builder.maxStates;
+        this.seed = builder.seed;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Puzzle hasil pembangkitan.
+     */
+    public static final class Generated {
+        private final Board board;
+        private final int optimalMoves;
+        private final int clusterSize;
+        private final int attempt;
+
+        Generated(Board board, int optimalMoves, int clusterSize, int attempt) {
+            this.board = board;
+            this.optimalMoves = optimalMoves;
+            this.clusterSize = clusterSize;
+            this.attempt = attempt;
+        }
+
+        public Board getBoard() {
+            return board;
+        }
+
+        /**
+         * Mendapatkan panjang solusi optimal.
+         * @return Jumlah langkah solusi optimal
+         */
+        public int getOptimalMoves() {
+            return optimalMoves;
+        }
+
+        /**
+         * Mendapatkan ukuran cluster puzzle.
+         * @return Jumlah state yang dapat dicapai dari puzzle
+         */
+        public int getClusterSize() {
+            return clusterSize;
+        }
+
+        /**
+         * Mendapatkan percobaan yang menghasilkan puzzle.
+         * @return Indeks percobaan, dimulai dari 0
+         */
+        public int getAttempt() {
+            return attempt;
+        }
+    }
+
+    /**
+     * Menjalankan percobaan dan mengembalikan puzzle tersulit. Dengan jumlah langkah
+     * minimum, hanya puzzle yang mencapainya yang disimpan dan pembangkitan berhenti
+     * begitu {@code count} puzzle ditemukan.
+     * @param count Jumlah puzzle yang disimpan
+     * @return Paling banyak {@code count} puzzle, dimulai dari solusi optimal terpanjang
+     */
+    public List<Generated> generate(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Jumlah puzzle harus minimal 1, ditemukan: " + count);
+        }
+        Random rnd = new Random(seed);
+        SearchMonitor monitor = new SearchMonitor(SolveOptions.unlimited());
+        Comparator<Generated> hardestFirst = Comparator
+            .comparingInt(Generated::getOptimalMoves).reversed()
+            .thenComparingInt(Generated::getAttempt);
+        // Kandidat terburuk di kepala antrian agar mudah dibuang
+        PriorityQueue<Generated> best = new PriorityQueue<>(hardestFirst.reversed());
+        Set<Board> seen = new HashSet<>();
+
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            if (minMoves > 0 && best.size() == count) break;
+            Board goal = randomGoalBoard(rnd);
+            if (goal == null) continue;
+
+            StateSpace space;
+            try {
+                space = StateSpace.explore(goal, monitor, maxStates);
+            } catch (IllegalStateException e) {
+                // Cluster terlalu besar untuk dijelajah: lewati
+                continue;
+            }
+            int moves = space.maxDistance();
+            if (moves == StateSpace.UNSOLVABLE || moves == 0 || moves < minMoves) continue;
+            if (best.size() == count && best.peek().getOptimalMoves() >= moves) continue;
+
+            // State pertama (urutan BFS) dengan jarak terjauh dari goal
+            int state = 0;
+            while (space.distance(state) != moves) state++;
+            Board puzzle = space.board(state);
+            if (!seen.add(puzzle)) continue;
+
+            best.add(new Generated(puzzle, moves, space.size(), attempt));
+            if (best.size() > count) best.poll();
+        }
+
+        List<Generated> result = new ArrayList<>(best);
+        result.sort(hardestFirst);
+        return result;
+    }
+
+    /*
+     * P horizontal di baris exit, menempel pada exit kanan; mobil lain panjang 2 atau 3
+     * ditaruh acak. Mobil horizontal tidak ditaruh di baris P. Id mengikuti A, B, ...
+     * dengan melewati 'K' dan 'P'; setelah 'Z' memakai karakter berikutnya.
+     */
+    private Board randomGoalBoard(Random rnd) {
+        boolean[][] used = new boolean[rows][cols];
+        List<Car> list = new ArrayList<>(cars + 1);
+        int playerRow = (rows - 1) / 2;
+        list.add(new Car('P', true, 2, playerRow, cols - 2));
+        used[playerRow][cols - 2] = used[playerRow][cols - 1] = true;
+
+        char id = 'A';
+        for (int tries = 0; list.size() <= cars; tries++) {
+            if (tries == 100 * cars) return null;
+            boolean horizontal = rnd.nextBoolean();
+            int length = rnd.nextInt(4) == 0 ? 3 : 2;
+            int span = horizontal ? cols : rows;
+            if (length > span) continue;
+            int row = rnd.nextInt(horizontal ? rows : rows - length + 1);
+            int col = rnd.nextInt(horizontal ? cols - length + 1 : cols);
+            if (horizontal && row == playerRow) continue;
+
+            boolean free = true;
+            for (int k = 0; k < length && free; k++) {
+                free = !used[horizontal ? row : row + k][horizontal ? col + k : col];
+            }
+            if (!free) continue;
+            for (int k = 0; k < length; k++) {
+                used[horizontal ? row : row + k][horizontal ? col + k : col] = true;
+            }
+
+            while (id == 'K' || id == 'P' || id == '.' || Character.isWhitespace(id) || Character.isISOControl(id)) id++;
+            list.add(new Car(id++, horizontal, length, row, col));
+        }
+        return Parser.createBoard(rows, cols, list, playerRow, cols);
+    }
+
+    public static final class Builder {
+        private int rows = 6;
+        private int cols = 6;
+        private int cars = 12;
+        private int minMoves;
+        private int attempts = 1000;
+        private int maxStates = 1 << 20;
+        private long seed;
+
+        private Builder() {
+        }
+
+        public Builder size(int rows, int cols) {
+            if (rows < 2 || cols < 3 || rows > Puzzle.MAX_LARGE_SIDE || cols > Puzzle.MAX_LARGE_SIDE) {
+                throw new IllegalArgumentException("Ukuran papan harus antara 2x3 dan "
+                    + Puzzle.MAX_LARGE_SIDE + "x" + Puzzle.MAX_LARGE_SIDE + ", ditemukan: " + rows + "x" + cols);
+            }
+            this.rows = rows;
+            this.cols = cols;
+            return this;
+        }
+
+        /**
+         * Mengatur jumlah mobil selain P, seperti yang dideklarasikan di baris kedua file puzzle.
+         */
+        public Builder cars(int cars) {
+            if (cars < 1 || cars >= Puzzle.MAX_VEHICLES) {
+                throw new IllegalArgumentException("Jumlah mobil harus antara 1 dan "
+                    + (Puzzle.MAX_VEHICLES - 1) + ", ditemukan: " + cars);
+            }
+            this.cars = cars;
+            return this;
+        }
+
+        /**
+         * Mengatur target kesulitan: solusi optimal terpendek yang boleh dimiliki puzzle yang disimpan.
+         */
+        public Builder minMoves(int minMoves) {
+            if (minMoves < 0) {
+                throw new IllegalArgumentException("Jumlah langkah minimal tidak boleh negatif: " + minMoves);
+            }
+            this.minMoves = minMoves;
+            return this;
+        }
+
+        public Builder attempts(int attempts) {
+            if (attempts < 1) {
+                throw new IllegalArgumentException("Jumlah percobaan harus minimal 1, ditemukan: " + attempts);
+            }
+            this.attempts = attempts;
+            return this;
+        }
+
+        /**
+         * Mengatur cluster terbesar yang dijelajahi per percobaan; cluster yang lebih besar dilewati.
+         */
+        public Builder maxStates(int maxStates) {
+            if (maxStates < 1 || maxStates > DistanceDatabase.MAX_STATES) {
+                throw new IllegalArgumentException("Batas state harus antara 1 dan "
+                    + DistanceDatabase.MAX_STATES + ", ditemukan: " + maxStates);
+            }
+            this.maxStates = maxStates;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public PuzzleGenerator build() {
+            return new PuzzleGenerator(this);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package backend.algorithm;
+
+import backend.exception.StateSpaceLimitException;
+import backend.model.Board;
+import backend.model.CanonicalForm;
+import backend.model.Solution;
+import backend.util.Heuristic;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Menyelesaikan puzzle dengan mencarinya di {@link DistanceDatabase}. Database sebuah
+ * puzzle dibangun untuk {@link CanonicalForm}-nya dan disimpan di direktori cache
+ * dengan nama fingerprint struktur kanonik, sehingga solve berikutnya untuk state mana
+ * pun dari puzzle yang sama, atau variannya yang dicerminkan, ditransposisi atau
+ * dilabel ulang, cukup memetakan file dan menelusuri jarak yang tersimpan. Tanpa
+ * direktori cache, database disimpan di memori selama solver hidup.
+ *
+ * <p>Mengenumerasi ruang state yang besar jauh lebih mahal daripada pencarian biasa,
+ * sehingga enumerasi berhenti lebih awal begitu melewati batas state solver (default
+ * {@link #DEFAULT_MAX_STATES}). Solver lalu beralih ke BFS maju {@link UCS}, yang
+ * hanya mendapat sisa timeout, deadline dan batas node.
+ */
+public class RetrogradeSolver implements PathfindingAlgorithm {
+    /**
+     * Batas state default. Enumerasi sebanyak ini butuh kurang dari satu detik,
+     * sedangkan test4 dan test6 pada korpus test memiliki lebih dari
+     * {@link DistanceDatabase#MAX_STATES} state dan lebih cepat diselesaikan UCS.
+     */
+    public static final int DEFAULT_MAX_STATES = 1 << 18;
+
+    private final Path cacheDirectory;
+    private final int maxStates;
+    private DistanceDatabase database;
+    private int nodesVisited;
+    private long executionTime;
+
+    public RetrogradeSolver() {
+        this(null);
+    }
+
+    /**
+     * Membuat solver dengan cache database di disk.
+     * @param cacheDirectory Direktori file database, atau null untuk cache di memori saja
+     */
+    public RetrogradeSolver(Path cacheDirectory) {
+        this(cacheDirectory, DEFAULT_MAX_STATES);
+    }
+
+    /**
+     * Membuat solver dengan cache database di disk dan batas ukuran ruang state.
+     * @param cacheDirectory Direktori file database, atau null untuk cache di memori saja
+     * @param maxStates Jumlah state maksimal yang dienumerasi sebelum beralih ke UCS
+     */
+    public RetrogradeSolver(Path cacheDirectory, int maxStates) {
+        if (maxStates < 1 || maxStates > DistanceDatabase.MAX_STATES) {
+            throw new IllegalArgumentException("Batas state harus antara 1 dan "
+                + DistanceDatabase.MAX_STATES + ", ditemukan: " + maxStates);
+        }
+        this.cacheDirectory = cacheDirectory;
+        this.maxStates = maxStates;
+    }
+
+    @Override
+    public List<Board> solve(Board initialBoard, Heuristic heuristic) {
+        return solve(initialBoard, heuristic, SolveOptions.unlimited()).getPath();
+    }
+
+    @Override
+    public SolveResult solve(Board initialBoard, Heuristic heuristic, SolveOptions options) {
+        nodesVisited = 0;
+        long startTime = System.currentTimeMillis();
+        SearchMonitor monitor = new SearchMonitor(options);
+
+        Solution solution = null;
+        try {
+            // Database disimpan untuk bentuk kanonik, sehingga varian cermin/transpos ikut memakainya
+            CanonicalForm canonical = CanonicalForm.of(initialBoard);
+            Board board = canonical.getBoard();
+            database = databaseFor(board, monitor);
+            if (database != null) {
+                List<Board> path;
+                try {
+                    path = database.solutionFrom(board);
+                } catch (IllegalStateException e) {
+                    // Tabel tidak konsisten (biasanya file cache rusak): buang lalu bangun ulang
+                    discard(board);
+                    database = databaseFor(board, monitor);
+                    path = database == null ? Collections.emptyList() : database.solutionFrom(board);
+                }
+                if (!path.isEmpty()) {
+                    solution = canonical.toOriginal(Solution.fromBoards(path));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal membaca/menulis distance database", e);
+        } catch (StateSpaceLimitException e) {
+            // Ruang state terlalu besar untuk ditabelkan: UCS hanya mendapat sisa budget
+            database = null;
+            UCS fallback = new UCS();
+            SolveResult result = fallback.solve(initialBoard, heuristic, monitor.remaining());
+            nodesVisited = fallback.getNodesVisited();
+            executionTime = System.currentTimeMillis() - startTime;
+            return result;
+        }
+
+        executionTime = System.currentTimeMillis() - startTime;
+        return monitor.finish(solution, nodesVisited, executionTime);
+    }
+
+    private DistanceDatabase databaseFor(Board initialBoard, SearchMonitor monitor) throws IOException {
+        if (database != null && database.contains(initialBoard)) {
+            return database;
+        }
+
+        Path file = cacheFile(initialBoard);
+        if (file != null && Files.isRegularFile(file)) {
+            try {
+                DistanceDatabase loaded = DistanceDatabase.load(file);
+                if (loaded.contains(initialBoard)) {
+                    return loaded;
+                }
+            } catch (IOException e) {
+                // File versi lama atau rusak: dibangun ulang dan ditimpa
+            }
+        }
+
+        // Belum ada database yang memuat state ini: bangun lalu simpan
+        DistanceDatabase built = DistanceDatabase.build(initialBoard, monitor, maxStates);
+        if (built == null) {
+            return null;
+        }
+        nodesVisited = built.size();
+        if (file != null) {
+            Files.createDirectories(cacheDirectory);
+            built.save(file);
+        }
+        return built;
+    }
+
+    private Path cacheFile(Board initialBoard) {
+        if (cacheDirectory == null) return null;
+        return cacheDirectory.resolve(Long.toHexString(initialBoard.getPuzzle().getFingerprint()) + ".rhdb");
+    }
+
+    private void discard(Board initialBoard) throws IOException {
+        database = null;
+        Path file = cacheFile(initialBoard);
+        if (file != null) Files.deleteIfExists(file);
+    }
+
+    /**
+     * Mendapatkan database yang dipakai pada solve terakhir. Key-nya adalah state
+     * kanonik; gunakan {@link CanonicalForm#toCanonical(Board)} untuk lookup.
+     * @return Distance database, atau null jika belum pernah solve
+     */
+    public DistanceDatabase getDatabase() {
+        return database;
+    }
+
+    @Override
+    public String getName() {
+        return "Retrograde Database";
+    }
+
+    @Override
+    public int getNodesVisited() {
+        return nodesVisited;
+    }
+
+    @Override
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    @Override
+    public String getHeuristicName() {
+        return "None";
+    }
+}
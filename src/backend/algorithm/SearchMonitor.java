@@ -0,0 +1,207 @@
+package backend.algorithm;
+
+import backend.model.Board;
+import backend.model.Solution;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Penjaga batas satu kali solve: dipanggil solver setiap ekspansi node, memutuskan
+ * kapan harus berhenti dan mengirim progress secara berkala. Jam dan token
+ * pembatalan hanya diperiksa pada ekspansi pertama lalu tiap {@link #CLOCK_STRIDE}
+ * panggilan agar murah.
+ */
+final class SearchMonitor {
+    private static final int CLOCK_STRIDE = 256;
+
+    private final SolveOptions options;
+    private final long startNanos;
+    private final long deadlineNanos;
+    private final long progressNanos;
+    private long nextProgressNanos;
+
+    private long expanded;
+    private int peakFrontier;
+    private int bestHeuristic = -1;
+    private int frontier;
+    private int stored;
+    private SolveResult.Status stopStatus;
+
+    SearchMonitor(SolveOptions options) {
+        this.options = options;
+        this.startNanos = System.nanoTime();
+
+        long deadline = Long.MAX_VALUE;
+        if (options.getTimeout() != null) {
+            deadline = saturatedAdd(startNanos, options.getTimeout().toNanos());
+        }
+        if (options.getDeadline() != null) {
+            long remaining = java.time.Duration.between(Instant.now(), options.getDeadline()).toNanos();
+            deadline = Math.min(deadline, saturatedAdd(startNanos, remaining));
+        }
+        this.deadlineNanos = deadline;
+        this.progressNanos = options.getProgressInterval().toNanos();
+        this.nextProgressNanos = startNanos + progressNanos;
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long r = a + b;
+        return ((a ^ r) & (b ^ r)) < 0 ? (b < 0 ? Long.MIN_VALUE : Long.MAX_VALUE) : r;
+    }
+
+    /**
+     * Mencatat satu ekspansi node.
+     * @param frontierSize Ukuran frontier saat ini
+     * @param storedStates Jumlah state di tabel pencarian
+     * @param heuristic Nilai heuristik node yang diekspansi, atau -1 jika tidak ada
+     * @return true jika pencarian harus berhenti
+     */
+    boolean expand(int frontierSize, int storedStates, int heuristic) {
+        expanded++;
+        frontier = frontierSize;
+        stored = storedStates;
+        if (frontierSize > peakFrontier) peakFrontier = frontierSize;
+        if (heuristic >= 0 && (bestHeuristic < 0 || heuristic < bestHeuristic)) bestHeuristic = heuristic;
+
+        if (expanded > options.getMaxNodes() || storedStates > options.getMaxStoredStates()) {
+            stopStatus = SolveResult.Status.OUT_OF_BUDGET;
+            return true;
+        }
+        if (expanded % CLOCK_STRIDE == 1) {
+            return checkClock();
+        }
+        return false;
+    }
+
+    /**
+     * Memeriksa pembatalan, deadline dan progress tanpa mencatat ekspansi. Dipakai
+     * oleh pencarian yang bekerja per layer.
+     * @return true jika pencarian harus berhenti
+     */
+    boolean checkClock() {
+        CancellationToken token = options.getCancellation();
+        if (token != null && token.isCancelled()) {
+            stopStatus = SolveResult.Status.CANCELLED;
+            return true;
+        }
+        long now = System.nanoTime();
+        if (now - deadlineNanos >= 0 && deadlineNanos != Long.MAX_VALUE) {
+            stopStatus = SolveResult.Status.TIMED_OUT;
+            return true;
+        }
+        if (options.getProgressListener() != null && now - nextProgressNanos >= 0) {
+            nextProgressNanos = now + progressNanos;
+            options.getProgressListener().accept(snapshot(now));
+        }
+        return false;
+    }
+
+    /**
+     * Mengganti penghitung dengan total dari pencarian yang berjalan di thread lain
+     * (misalnya anggota portfolio), lalu memeriksa seperti {@link #checkClock()} sehingga
+     * progress yang dikirim berisi total tersebut.
+     * @param expandedTotal Total node yang diekspansi
+     * @param frontierSize Total ukuran frontier
+     * @param storedStates Total state di tabel pencarian
+     * @param heuristic Nilai heuristik terbaik, atau -1 jika tidak ada
+     * @return true jika pencarian harus berhenti
+     */
+    boolean checkClock(long expandedTotal, int frontierSize, int storedStates, int heuristic) {
+        expanded = expandedTotal;
+        frontier = frontierSize;
+        stored = storedStates;
+        if (frontierSize > peakFrontier) peakFrontier = frontierSize;
+        bestHeuristic = heuristic;
+        return checkClock();
+    }
+
+    /**
+     * Seperti {@link #checkClock()}, tetapi hanya memeriksa pada langkah pertama lalu
+     * tiap {@link #CLOCK_STRIDE} langkah. Dipakai oleh fase yang tidak mengekspansi
+     * node, misalnya BFS mundur atau enumerasi goal.
+     * @param step Nomor langkah, dimulai dari 0
+     * @return true jika pencarian harus berhenti
+     */
+    boolean checkClock(long step) {
+        return step % CLOCK_STRIDE == 0 && checkClock();
+    }
+
+    /**
+     * Membuat opsi untuk pencarian lanjutan (fallback) yang hanya mendapat sisa budget
+     * monitor ini: deadline yang sama, sisa batas node, serta token pembatalan dan
+     * listener progress yang sama.
+     * @return Opsi untuk pencarian lanjutan
+     */
+    SolveOptions remaining() {
+        SolveOptions.Builder builder = SolveOptions.builder()
+            .maxStoredStates(options.getMaxStoredStates())
+            .cancellation(options.getCancellation());
+        if (options.getMaxNodes() != Long.MAX_VALUE) {
+            builder.maxNodes(Math.max(1, options.getMaxNodes() - expanded));
+        }
+        if (deadlineNanos != Long.MAX_VALUE) {
+            builder.timeout(java.time.Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime())));
+        }
+        if (options.getProgressListener() != null) {
+            builder.onProgress(options.getProgressListener(), options.getProgressInterval());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Memeriksa batas state tersimpan tanpa mencatat ekspansi. Dipakai oleh pencarian
+     * yang menampung kandidat sebelum menyimpannya ke tabel.
+     * @param storedStates Jumlah state yang sedang ditampung
+     * @return true jika pencarian harus berhenti
+     */
+    boolean checkStored(long storedStates) {
+        if (storedStates > options.getMaxStoredStates()) {
+            stopStatus = SolveResult.Status.OUT_OF_BUDGET;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Mencatat satu layer ekspansi sekaligus (pencarian per layer).
+     * @param count Jumlah node yang diekspansi pada layer ini
+     * @param frontierSize Ukuran frontier setelah layer
+     * @param storedStates Jumlah state di tabel pencarian
+     * @return true jika pencarian harus berhenti
+     */
+    boolean expandLayer(int count, int frontierSize, int storedStates) {
+        expanded += count;
+        frontier = frontierSize;
+        stored = storedStates;
+        if (frontierSize > peakFrontier) peakFrontier = frontierSize;
+
+        if (expanded > options.getMaxNodes() || storedStates > options.getMaxStoredStates()) {
+            stopStatus = SolveResult.Status.OUT_OF_BUDGET;
+            return true;
+        }
+        return checkClock();
+    }
+
+    private SolveProgress snapshot(long now) {
+        return new SolveProgress(expanded, frontier, stored, bestHeuristic, (now - startNanos) / 1_000_000L);
+    }
+
+    /**
+     * Membuat hasil akhir. Jika pencarian tidak dihentikan, status ditentukan
+     * dari ada atau tidaknya solusi.
+     */
+    SolveResult finish(Solution solution, int nodesVisited, long executionTime) {
+        SolveResult.Status status = stopStatus != null ? stopStatus
+            : solution == null ? SolveResult.Status.EXHAUSTED : SolveResult.Status.SOLVED;
+        return new SolveResult(status, status == SolveResult.Status.SOLVED ? solution : null,
+            nodesVisited, peakFrontier, executionTime);
+    }
+
+    /**
+     * Membuat hasil akhir dari urutan papan; daftar kosong berarti tidak ada solusi.
+     */
+    SolveResult finish(List<Board> path, int nodesVisited, long executionTime) {
+        return finish(path.isEmpty() ? null : Solution.fromBoards(path), nodesVisited, executionTime);
+    }
+}
@@ -0,0 +1,465 @@
+package backend.algorithm;
+
+import backend.model.Board;
+import backend.model.Move;
+import backend.model.Puzzle;
+import backend.model.Solution;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Cache hasil solve yang pasti ({@link SolveResult.Status#SOLVED} dan
+ * {@link SolveResult.Status#EXHAUSTED}), dipakai oleh {@link CachingSolver}.
+ *
+ * <p>Key sebuah entry adalah hash 128-bit papan awal ditambah hash solver. Hash papan
+ * terdiri dari {@link Puzzle#getFingerprint()} (dimensi, exit dan bentuk mobil) dan
+ * key Zobrist dari posisi. Kedua bagian tidak bergantung pada urutan mobil di input;
+ * {@link CachingSolver} memberikan {@link backend.model.CanonicalForm} papan sehingga
+ * varian yang dicerminkan, ditransposisi dan dilabel ulang berbagi satu entry. Entry
+ * yang baru dipakai disimpan di LRU memori yang dibatasi jumlah entry.
+ *
+ * <p>Dengan file, setiap entry baru juga ditambahkan ke store append-only. Hanya index
+ * dari key ke offset file yang tetap di memori. Store dibaca ulang saat konstruksi, dan
+ * entry yang dikeluarkan dari LRU dibaca kembali dari store saat dibutuhkan. Record yang
+ * terpotong karena crash dibuang saat file dibaca ulang, dan entry yang ditolak saat
+ * diputar ulang ditandai di store sehingga tidak dimuat lagi.
+ *
+ * <p>Semua method aman dipakai dari banyak thread.
+ */
+public final class SolutionCache implements Closeable {
+    private static final int MAGIC = 0x52485343; // "RHSC"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+    // puzzle, state, solver, status, node, waktu, jumlah langkah
+    private static final int RECORD_HEADER_BYTES = 8 + 8 + 8 + 1 + 4 + 8 + 4;
+    private static final int MOVE_BYTES = 3;
+    // Status record: 0 = solved, 1 = exhausted, 2 = dibuang karena tidak cocok dengan papannya
+    private static final byte STATUS_DISCARDED = 2;
+    private static final int STATUS_OFFSET = 24;
+
+    private final LinkedHashMap<Key, Entry> memory;
+    private final FileChannel store;
+    private final Map<Key, Long> offsets = new HashMap<>();
+
+    private long hits;
+    private long diskHits;
+    private long misses;
+    private long stores;
+    private long evictions;
+    private long savedMillis;
+
+    /**
+     * Membuat cache di memori saja.
+     * @param capacity Jumlah entry maksimal di memori
+     */
+    public SolutionCache(int capacity) {
+        this.memory = newLru(capacity);
+        this.store = null;
+    }
+
+    /**
+     * Membuat cache dengan store di disk. File dibuat jika belum ada; jika sudah ada,
+     * index-nya dibaca ulang.
+     * @param capacity Jumlah entry maksimal di memori
+     * @param file File store
+     * @throws IOException jika file tidak dapat dibaca atau bukan cache solusi
+     */
+    public SolutionCache(int capacity, Path file) throws IOException {
+        this.memory = newLru(capacity);
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        this.store = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            reload(file);
+        } catch (IOException e) {
+            store.close();
+            throw e;
+        }
+    }
+
+    private LinkedHashMap<Key, Entry> newLru(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Kapasitas cache harus minimal 1, ditemukan: " + capacity);
+        }
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() <= capacity) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Membaca index dari store. Versi lama dibuang; record terakhir yang terpotong
+     * dipangkas dari file.
+     */
+    private void reload(Path file) throws IOException {
+        long size = store.size();
+        if (size >= HEADER_BYTES) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            readFully(header, 0);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Bukan file cache solusi yang valid: " + file);
+            }
+            if (header.getInt(4) == VERSION) {
+                long offset = HEADER_BYTES;
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                        Files.newInputStream(file), 1 << 16))) {
+                    in.skipNBytes(HEADER_BYTES);
+                    while (offset + RECORD_HEADER_BYTES <= size) {
+                        Key key = new Key(in.readLong(), in.readLong(), in.readLong());
+                        byte status = in.readByte();
+                        in.skipNBytes(4 + 8);
+                        int moves = in.readInt();
+                        long end = offset + RECORD_HEADER_BYTES + (long) moves * MOVE_BYTES;
+                        if (moves < 0 || end > size) break;
+                        in.skipNBytes((long) moves * MOVE_BYTES);
+                        if (status != STATUS_DISCARDED) offsets.put(key, offset);
+                        offset = end;
+                    }
+                }
+                if (offset < size) store.truncate(offset);
+                return;
+            }
+        }
+        // File baru, terpotong sebelum header, atau versi lama: mulai dari kosong
+        store.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).flip();
+        while (header.hasRemaining()) store.write(header, header.position());
+        store.force(false);
+    }
+
+    /**
+     * Mencari hasil solve yang tersimpan.
+     * @param board Papan awal
+     * @param solver Hash algoritma dan heuristik, lihat {@link #solverHash(String, String)}
+     * @return Hasil dengan papan awal {@code board}, atau null jika tidak ada
+     */
+    synchronized SolveResult get(Board board, long solver) {
+        Key key = new Key(board, solver);
+        Entry entry = memory.get(key);
+        if (entry == null && store != null) {
+            Long offset = offsets.get(key);
+            if (offset != null) {
+                entry = readEntry(offset);
+                if (entry != null) {
+                    memory.put(key, entry);
+                    diskHits++;
+                }
+            }
+        }
+        SolveResult result = entry == null ? null : entry.toResult(board);
+        if (result == null) {
+            if (entry != null) {
+                // Entry tidak cocok dengan papan: buang agar hasil solve ulang dapat disimpan
+                memory.remove(key);
+                Long offset = offsets.remove(key);
+                if (offset != null) discard(offset);
+            }
+            misses++;
+            return null;
+        }
+        hits++;
+        savedMillis += entry.executionTime;
+        return result;
+    }
+
+    /**
+     * Menyimpan hasil solve jika statusnya pasti (SOLVED atau EXHAUSTED).
+     * @param board Papan awal
+     * @param solver Hash algoritma dan heuristik
+     * @param result Hasil solve
+     * @throws UncheckedIOException jika penulisan ke store gagal
+     */
+    synchronized void put(Board board, long solver, SolveResult result) {
+        if (result.getStatus() != SolveResult.Status.SOLVED
+                && result.getStatus() != SolveResult.Status.EXHAUSTED) {
+            return;
+        }
+        Key key = new Key(board, solver);
+        if (memory.containsKey(key) || offsets.containsKey(key)) return;
+
+        Entry entry = new Entry(result);
+        memory.put(key, entry);
+        stores++;
+        if (store != null) {
+            try {
+                offsets.put(key, append(key, entry));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Gagal menulis cache solusi", e);
+            }
+        }
+    }
+
+    private long append(Key key, Entry entry) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + entry.moves.length * MOVE_BYTES);
+        record.putLong(key.puzzle).putLong(key.state).putLong(key.solver);
+        record.put((byte) (entry.solved ? 0 : 1));
+        record.putInt(entry.nodesVisited);
+        record.putLong(entry.executionTime);
+        record.putInt(entry.moves.length);
+        for (int move : entry.moves) {
+            record.putShort((short) (move >> 8)).put((byte) move);
+        }
+        record.flip();
+
+        long offset = store.size();
+        long position = offset;
+        while (record.hasRemaining()) position += store.write(record, position);
+        return offset;
+    }
+
+    // Menandai record di file sebagai dibuang, sehingga tidak dibaca lagi saat reload
+    private void discard(long offset) {
+        try {
+            ByteBuffer status = ByteBuffer.allocate(1).put(STATUS_DISCARDED).flip();
+            while (status.hasRemaining()) store.write(status, offset + STATUS_OFFSET);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menulis cache solusi", e);
+        }
+    }
+
+    private Entry readEntry(long offset) {
+        try {
+            ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+            readFully(header, offset);
+            header.position(STATUS_OFFSET);
+            boolean solved = header.get() == 0;
+            int nodes = header.getInt();
+            long time = header.getLong();
+            int count = header.getInt();
+            ByteBuffer body = ByteBuffer.allocate(count * MOVE_BYTES);
+            readFully(body, offset + RECORD_HEADER_BYTES);
+            int[] moves = new int[count];
+            for (int i = 0; i < count; i++) {
+                moves[i] = body.getShort() << 8 | body.get() & 0xFF;
+            }
+            return new Entry(solved, nodes, time, moves);
+        } catch (IOException e) {
+            // Store rusak: anggap miss, solve ulang akan menulis record baru
+            return null;
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = store.read(buffer, position + buffer.position());
+            if (n < 0) throw new EOFException();
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Menghitung hash algoritma dan heuristik untuk key cache.
+     * @param algorithmName Nama algoritma
+     * @param heuristicName Nama heuristik
+     * @return Hash 64-bit
+     */
+    public static long solverHash(String algorithmName, String heuristicName) {
+        long h = 0xcbf29ce484222325L;
+        for (char c : (algorithmName + '\0' + heuristicName).toCharArray()) {
+            h ^= c;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /**
+     * Mendapatkan statistik cache sejak dibuat.
+     * @return Snapshot statistik
+     */
+    public synchronized Stats getStats() {
+        return new Stats(hits, diskHits, misses, stores, evictions, savedMillis,
+            memory.size(), store == null ? 0 : offsets.size());
+    }
+
+    /**
+     * Menutup store. Cache di memori saja tidak perlu ditutup.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (store != null && store.isOpen()) {
+            store.force(false);
+            store.close();
+        }
+    }
+
+    /**
+     * Statistik cache.
+     */
+    public static final class Stats {
+        private final long hits;
+        private final long diskHits;
+        private final long misses;
+        private final long stores;
+        private final long evictions;
+        private final long savedMillis;
+        private final int memoryEntries;
+        private final int diskEntries;
+
+        Stats(long hits, long diskHits, long misses, long stores, long evictions, long savedMillis,
+              int memoryEntries, int diskEntries) {
+            this.hits = hits;
+            this.diskHits = diskHits;
+            this.misses = misses;
+            this.stores = stores;
+            this.evictions = evictions;
+            this.savedMillis = savedMillis;
+            this.memoryEntries = memoryEntries;
+            this.diskEntries = diskEntries;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * @return Jumlah hit yang harus dibaca kembali dari store
+         */
+        public long getDiskHits() {
+            return diskHits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * @return Jumlah hasil yang ditambahkan ke cache
+         */
+        public long getStores() {
+            return stores;
+        }
+
+        /**
+         * @return Jumlah entry yang dikeluarkan dari LRU memori
+         */
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /**
+         * Mendapatkan latensi yang dihemat: jumlah waktu solve asli dari semua hit.
+         * @return Waktu yang dihemat dalam milidetik
+         */
+        public long getSavedMillis() {
+            return savedMillis;
+        }
+
+        public int getMemoryEntries() {
+            return memoryEntries;
+        }
+
+        /**
+         * @return Jumlah entry di store, 0 tanpa file
+         */
+        public int getDiskEntries() {
+            return diskEntries;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d (disk %d), misses=%d, stores=%d, evictions=%d, saved=%d ms,"
+                    + " memory=%d, disk=%d", hits, diskHits, misses, stores, evictions, savedMillis,
+                    memoryEntries, diskEntries);
+        }
+    }
+
+    private static final class Key {
+        final long puzzle;
+        final long state;
+        final long solver;
+
+        Key(long puzzle, long state, long solver) {
+            this.puzzle = puzzle;
+            this.state = state;
+            this.solver = solver;
+        }
+
+        Key(Board board, long solver) {
+            this(board.getPuzzle().getFingerprint(), board.getZobristKey(), solver);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return puzzle == k.puzzle && state == k.state && solver == k.solver;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(puzzle * 31 + state * 0x9E3779B97F4A7C15L + solver);
+        }
+    }
+
+    private static final class Entry {
+        final boolean solved;
+        final int nodesVisited;
+        final long executionTime;
+        // Per langkah: indeks mobil << 8 | pergeseran (8 bit)
+        final int[] moves;
+
+        Entry(boolean solved, int nodesVisited, long executionTime, int[] moves) {
+            this.solved = solved;
+            this.nodesVisited = nodesVisited;
+            this.executionTime = executionTime;
+            this.moves = moves;
+        }
+
+        Entry(SolveResult result) {
+            this.solved = result.isSolved();
+            this.nodesVisited = result.getNodesVisited();
+            this.executionTime = result.getExecutionTime();
+            if (!solved) {
+                this.moves = new int[0];
+                return;
+            }
+            Puzzle puzzle = result.getSolution().getInitialBoard().getPuzzle();
+            List<Move> list = result.getSolution().getMoves();
+            this.moves = new int[list.size()];
+            for (int i = 0; i < moves.length; i++) {
+                Move move = list.get(i);
+                int car = move.getCarIndex() >= 0 ? move.getCarIndex() : puzzle.indexOf(move.getCarId());
+                moves[i] = car << 8 | move.getDelta() & 0xFF;
+            }
+        }
+
+        /**
+         * Membangun hasil untuk papan awal. Langkah diputar ulang pada papan dengan
+         * pemeriksaan sel kosong, agar entry yang rusak atau bertabrakan hash tidak
+         * menghasilkan solusi yang salah.
+         * @return Hasil, atau null jika ada langkah yang tidak sah atau akhirnya bukan goal
+         */
+        SolveResult toResult(Board initialBoard) {
+            if (!solved) {
+                return new SolveResult(SolveResult.Status.EXHAUSTED, null, 0, 0, 0);
+            }
+            Puzzle puzzle = initialBoard.getPuzzle();
+            List<Move> list = new ArrayList<>(moves.length);
+            Board board = initialBoard;
+            for (int packed : moves) {
+                int car = packed >> 8;
+                int delta = (byte) packed;
+                if (car < 0 || car >= puzzle.getCarCount()) return null;
+                int span = puzzle.isHorizontal(car) ? puzzle.getCols() : puzzle.getRows();
+                if (Math.abs(delta) > span - puzzle.getLength(car)) return null;
+                Move move = puzzle.getMove(car, delta);
+                if (!board.isLegal(move)) return null;
+                board = board.apply(move);
+                list.add(move);
+            }
+            if (!board.isGoal()) return null;
+            return new SolveResult(SolveResult.Status.SOLVED, new Solution(initialBoard, list), 0, 0, 0);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package backend.algorithm;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * Batas dan callback untuk {@link PathfindingAlgorithm#solve(backend.model.Board, backend.util.Heuristic, SolveOptions)}.
+ * Dibuat lewat {@link #builder()}; {@link #unlimited()} tidak membatasi apa pun.
+ */
+public final class SolveOptions {
+    private static final SolveOptions UNLIMITED = builder().build();
+
+    private final Duration timeout;
+    private final Instant deadline;
+    private final long maxNodes;
+    private final long maxStoredStates;
+    private final CancellationToken cancellation;
+    private final Consumer<SolveProgress> progressListener;
+    private final Duration progressInterval;
+
+    private SolveOptions(Builder builder) {
+        this.timeout = builder.timeout;
+        this.deadline = builder.deadline;
+        this.maxNodes = builder.maxNodes;
+        this.maxStoredStates = builder.maxStoredStates;
+        this.cancellation = builder.cancellation;
+        this.progressListener = builder.progressListener;
+        this.progressInterval = builder.progressInterval;
+    }
+
+    public static SolveOptions unlimited() {
+        return UNLIMITED;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Mendapatkan batas waktu, dihitung sejak solve dimulai.
+     * @return Timeout, atau null jika tidak ada
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Mendapatkan deadline absolut.
+     * @return Deadline, atau null jika tidak ada
+     */
+    public Instant getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Mendapatkan batas jumlah node yang diekspansi.
+     * @return Jumlah node maksimum, atau {@code Long.MAX_VALUE}
+     */
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * Mendapatkan batas memori, berupa jumlah state yang boleh disimpan di tabel pencarian.
+     * @return Jumlah state tersimpan maksimum, atau {@code Long.MAX_VALUE}
+     */
+    public long getMaxStoredStates() {
+        return maxStoredStates;
+    }
+
+    public CancellationToken getCancellation() {
+        return cancellation;
+    }
+
+    public Consumer<SolveProgress> getProgressListener() {
+        return progressListener;
+    }
+
+    public Duration getProgressInterval() {
+        return progressInterval;
+    }
+
+    public static final class Builder {
+        private Duration timeout;
+        private Instant deadline;
+        private long maxNodes = Long.MAX_VALUE;
+        private long maxStoredStates = Long.MAX_VALUE;
+        private CancellationToken cancellation;
+        private Consumer<SolveProgress> progressListener;
+        private Duration progressInterval = Duration.ofMillis(100);
+
+        private Builder() {
+        }
+
+        public Builder timeout(Duration timeout) {
+            if (timeout.isNegative()) {
+                throw new IllegalArgumentException("Timeout tidak boleh negatif: " + timeout);
+            }
+            this.timeout = timeout;
+            return this;
+        }
+
+        public Builder deadline(Instant deadline) {
+            this.deadline = deadline;
+            return this;
+        }
+
+        public Builder maxNodes(long maxNodes) {
+            if (maxNodes < 1) {
+                throw new IllegalArgumentException("Batas node harus minimal 1, ditemukan: " + maxNodes);
+            }
+            this.maxNodes = maxNodes;
+            return this;
+        }
+
+        public Builder maxStoredStates(long maxStoredStates) {
+            if (maxStoredStates < 1) {
+                throw new IllegalArgumentException("Batas state harus minimal 1, ditemukan: " + maxStoredStates);
+            }
+            this.maxStoredStates = maxStoredStates;
+            return this;
+        }
+
+        public Builder cancellation(CancellationToken cancellation) {
+            this.cancellation = cancellation;
+            return this;
+        }
+
+        /**
+         * Memasang listener yang menerima snapshot progress paling sering sekali per interval.
+         * Listener berjalan di thread solver.
+         */
+        public Builder onProgress(Consumer<SolveProgress> listener, Duration interval) {
+            if (interval.isNegative()) {
+                throw new IllegalArgumentException("Interval progress tidak boleh negatif: " + interval);
+            }
+            this.progressListener = listener;
+            this.progressInterval = interval;
+            return this;
+        }
+
+        public SolveOptions build() {
+            return new SolveOptions(this);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package backend.algorithm;
+
+/**
+ * Snapshot kemajuan pencarian yang dikirim ke listener progress.
+ */
+public final class SolveProgress {
+    private final long nodesExpanded;
+    private final int frontierSize;
+    private final int storedStates;
+    private final int bestHeuristic;
+    private final long elapsedMillis;
+
+    SolveProgress(long nodesExpanded, int frontierSize, int storedStates, int bestHeuristic, long elapsedMillis) {
+        this.nodesExpanded = nodesExpanded;
+        this.frontierSize = frontierSize;
+        this.storedStates = storedStates;
+        this.bestHeuristic = bestHeuristic;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    public int getFrontierSize() {
+        return frontierSize;
+    }
+
+    /**
+     * Mendapatkan jumlah state yang disimpan di tabel pencarian.
+     * @return Jumlah state tersimpan
+     */
+    public int getStoredStates() {
+        return storedStates;
+    }
+
+    /**
+     * Mendapatkan nilai heuristik terkecil yang sudah diekspansi.
+     * @return Nilai heuristik terbaik, atau -1 jika pencarian tidak memakai heuristik
+     */
+    public int getBestHeuristic() {
+        return bestHeuristic;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("expanded=%d frontier=%d stored=%d bestH=%d elapsed=%dms",
+                nodesExpanded, frontierSize, storedStates, bestHeuristic, elapsedMillis);
+    }
+}
@@ -0,0 +1,91 @@
+package backend.algorithm;
+
+import backend.model.Board;
+import backend.model.Solution;
+
+import java.util.*;
+
+/**
+ * Hasil solve dengan batas waktu, batas node, atau pembatalan.
+ */
+public final class SolveResult {
+    public enum Status {
+        /** Solusi ditemukan. */
+        SOLVED,
+        /** Seluruh ruang state sudah dijelajahi tanpa solusi. */
+        EXHAUSTED,
+        /** Deadline terlewati. */
+        TIMED_OUT,
+        /** Batas node atau batas state tersimpan terlampaui. */
+        OUT_OF_BUDGET,
+        /** Dibatalkan lewat {@link CancellationToken}. */
+        CANCELLED
+    }
+
+    private final Status status;
+    private final Solution solution;
+    private final int nodesVisited;
+    private final int peakFrontier;
+    private final long executionTime;
+
+    SolveResult(Status status, Solution solution, int nodesVisited, int peakFrontier, long executionTime) {
+        this.status = status;
+        this.solution = solution;
+        this.nodesVisited = nodesVisited;
+        this.peakFrontier = peakFrontier;
+        this.executionTime = executionTime;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isSolved() {
+        return status == Status.SOLVED;
+    }
+
+    /**
+     * Mendapatkan solusi berupa papan awal dan daftar langkah.
+     * @return Solusi, atau null jika tidak {@link Status#SOLVED}
+     */
+    public Solution getSolution() {
+        return solution;
+    }
+
+    /**
+     * Mendapatkan solusi sebagai urutan papan. Papan dibangun saat diakses
+     * lewat {@link Solution#boards()}.
+     * @return Daftar state dari awal hingga goal, kosong jika tidak {@link Status#SOLVED}
+     */
+    public List<Board> getPath() {
+        return solution == null ? Collections.emptyList() : solution.boards();
+    }
+
+    /**
+     * Mendapatkan jumlah langkah solusi.
+     * @return Jumlah langkah, atau -1 jika tidak {@link Status#SOLVED}
+     */
+    public int getSteps() {
+        return solution == null ? -1 : solution.length();
+    }
+
+    public int getNodesVisited() {
+        return nodesVisited;
+    }
+
+    /**
+     * Mendapatkan ukuran frontier terbesar selama pencarian.
+     * @return Ukuran frontier maksimum
+     */
+    public int getPeakFrontier() {
+        return peakFrontier;
+    }
+
+    /**
+     * Mendapatkan waktu eksekusi dalam milidetik.
+     * @return Waktu eksekusi
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+}
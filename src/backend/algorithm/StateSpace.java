@@ -0,0 +1,154 @@
+package backend.algorithm;
+
+import backend.algorithm.support.LongIntMap;
+import backend.exception.StateSpaceLimitException;
+import backend.model.Board;
+
+import java.util.*;
+
+/**
+ * Ruang state terhubung sebuah puzzle beserta jarak eksak setiap state ke goal
+ * terdekat, dihitung dengan analisis retrograde: BFS maju mengenumerasi state yang
+ * dapat dicapai dari sebuah papan, lalu BFS mundur dari goal state memberi jaraknya.
+ * State dinomori sesuai urutan BFS maju dan posisinya disimpan terkemas, satu byte per
+ * mobil, sehingga state mana pun dapat dibangun ulang sebagai {@link Board}.
+ */
+final class StateSpace {
+    /** Jarak untuk state yang tidak bisa mencapai goal. */
+    static final int UNSOLVABLE = 0xFF;
+
+    private final Board root;
+    private final int cars;
+    private final int count;
+    private final long[] keys;
+    private final byte[] packed;
+    private final byte[] distance;
+    private final int maxDistance;
+
+    private StateSpace(Board root, int count, long[] keys, byte[] packed, byte[] distance, int maxDistance) {
+        this.root = root;
+        this.cars = root.getPuzzle().getCarCount();
+        this.count = count;
+        this.keys = keys;
+        this.packed = packed;
+        this.distance = distance;
+        this.maxDistance = maxDistance;
+    }
+
+    /**
+     * Mengenumerasi ruang state sebuah papan dan menghitung semua jaraknya.
+     * @param initialBoard State mana pun dari puzzle
+     * @param monitor Monitor yang diperiksa per state pada kedua tahap
+     * @param maxStates Jumlah state maksimal yang dienumerasi
+     * @return Ruang state, atau null jika monitor menghentikan pencarian
+     * @throws StateSpaceLimitException jika ruang state lebih dari {@code maxStates} state
+     *         atau sebuah jarak tidak muat dalam satu byte
+     */
+    static StateSpace explore(Board initialBoard, SearchMonitor monitor, int maxStates) {
+        int cars = initialBoard.getPuzzle().getCarCount();
+
+        // 1) Enumerasi maju: indeks state sesuai urutan BFS, posisi disimpan padat
+        LongIntMap index = new LongIntMap();
+        long[] stateKeys = new long[1024];
+        byte[] packed = new byte[1024 * cars];
+        List<Integer> goals = new ArrayList<>();
+        int count = 0;
+
+        Deque<Board> queue = new ArrayDeque<>();
+        queue.add(initialBoard);
+        index.put(initialBoard.getZobristKey(), count);
+        stateKeys[count] = initialBoard.getZobristKey();
+        packed = pack(initialBoard, packed, count++);
+
+        while (!queue.isEmpty()) {
+            Board board = queue.poll();
+            if (monitor.expand(queue.size(), count, -1)) return null;
+            if (board.isGoal()) goals.add(index.get(board.getZobristKey(), -1));
+            for (Board neighbor : board.generateNeighbors()) {
+                long key = neighbor.getZobristKey();
+                if (index.containsKey(key)) continue;
+                if (count == maxStates) {
+                    throw new StateSpaceLimitException(
+                        "Ruang state lebih dari " + maxStates + " state");
+                }
+                if (count == stateKeys.length) stateKeys = Arrays.copyOf(stateKeys, count << 1);
+                index.put(key, count);
+                stateKeys[count] = key;
+                packed = pack(neighbor, packed, count++);
+                queue.add(neighbor);
+            }
+        }
+
+        // 2) BFS mundur dari semua goal, hanya di dalam ruang state di atas
+        byte[] distance = new byte[count];
+        Arrays.fill(distance, (byte) UNSOLVABLE);
+        int[] order = new int[count];
+        int head = 0, tail = 0;
+        for (int g : goals) {
+            distance[g] = 0;
+            order[tail++] = g;
+        }
+        int[] positions = new int[cars];
+        int maxDistance = goals.isEmpty() ? UNSOLVABLE : 0;
+        while (head < tail) {
+            // Jam dan pembatalan tetap dihormati selama BFS mundur
+            if (monitor.checkClock(head)) return null;
+            int s = order[head++];
+            int d = distance[s] & 0xFF;
+            if (d + 1 >= UNSOLVABLE) {
+                throw new StateSpaceLimitException("Jarak melebihi " + (UNSOLVABLE - 1) + " langkah");
+            }
+            for (int i = 0; i < cars; i++) positions[i] = packed[s * cars + i];
+            for (Board predecessor : initialBoard.withPositions(positions).generatePredecessors()) {
+                int p = index.get(predecessor.getZobristKey(), -1);
+                if (p >= 0 && (distance[p] & 0xFF) == UNSOLVABLE) {
+                    distance[p] = (byte) (d + 1);
+                    maxDistance = d + 1;
+                    order[tail++] = p;
+                }
+            }
+        }
+        return new StateSpace(initialBoard, count, Arrays.copyOf(stateKeys, count), packed, distance, maxDistance);
+    }
+
+    private static byte[] pack(Board board, byte[] packed, int state) {
+        int cars = board.getPuzzle().getCarCount();
+        if ((state + 1) * cars > packed.length) {
+            packed = Arrays.copyOf(packed, packed.length << 1);
+        }
+        for (int i = 0; i < cars; i++) {
+            packed[state * cars + i] = (byte) board.getPosition(i);
+        }
+        return packed;
+    }
+
+    int size() {
+        return count;
+    }
+
+    long key(int state) {
+        return keys[state];
+    }
+
+    /**
+     * Mendapatkan jarak sebuah state ke goal terdekat.
+     * @return Jarak, atau {@link #UNSOLVABLE}
+     */
+    int distance(int state) {
+        return distance[state] & 0xFF;
+    }
+
+    /**
+     * Mendapatkan jarak terbesar dari state yang solvable.
+     * @return Jarak terbesar, atau {@link #UNSOLVABLE} jika tidak ada state yang solvable
+     */
+    int maxDistance() {
+        return maxDistance;
+    }
+
+    Board board(int state) {
+        int[] positions = new int[cars];
+        for (int i = 0; i < cars; i++) positions[i] = packed[state * cars + i];
+        return root.withPositions(positions);
+    }
+}
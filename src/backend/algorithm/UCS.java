@@ -1,53 +1,102 @@
 package backend.algorithm;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import backend.algorithm.support.LongLongMap;
+import backend.algorithm.support.LongSet;
+import backend.algorithm.support.PathReplay;
 import backend.model.Board;
+import backend.model.Solution;
 import backend.util.Heuristic;
 
 public class UCS implements PathfindingAlgorithm {
     private int nodesVisited;
     private long executionTime;
+    private final int parallelism;
+
+    public UCS() {
+        this(1);
+    }
+
+    /**
+     * Membuat UCS dengan mode paralel per layer BFS.
+     * @param parallelism Jumlah thread; 1 berarti serial
+     */
+    public UCS(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism harus minimal 1, ditemukan: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
 
     @Override
     public List<Board> solve(Board initialBoard, Heuristic heuristic) {
+        return solve(initialBoard, heuristic, SolveOptions.unlimited()).getPath();
+    }
+
+    @Override
+    public SolveResult solve(Board initialBoard, Heuristic heuristic, SolveOptions options) {
         nodesVisited = 0;
         long startTime = System.currentTimeMillis();
+        SearchMonitor monitor = new SearchMonitor(options);
+
+        if (parallelism > 1) {
+            Solution path = solveParallel(initialBoard, monitor);
+            executionTime = System.currentTimeMillis() - startTime;
+            return monitor.finish(path, nodesVisited, executionTime);
+        }
 
         Queue<UCSNode> queue = new LinkedList<>();
-        Set<Board> visited = new HashSet<>();
+        LongSet visited = new LongSet();
+        LongLongMap parents = new LongLongMap();
 
-        queue.add(new UCSNode(initialBoard, null, 0));
-        visited.add(initialBoard);
+        queue.add(new UCSNode(initialBoard, 0));
+        visited.add(initialBoard.getZobristKey());
 
         while (!queue.isEmpty()) {
             UCSNode currentNode = queue.poll();
             nodesVisited++;
+            long currentKey = currentNode.getBoard().getZobristKey();
+            if (monitor.expand(queue.size(), visited.size(), -1)) {
+                break;
+            }
 
             if (currentNode.getBoard().isGoal()) {
                 executionTime = System.currentTimeMillis() - startTime;
-                return reconstructPath(currentNode);
+                return monitor.finish(PathReplay.rebuild(initialBoard, parents, currentKey), nodesVisited, executionTime);
             }
 
-            for (Board neighbor : currentNode.getBoard().generateNeighbors(currentNode.getBoard().getZobristTable())) {
-                if (!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    queue.add(new UCSNode(neighbor, currentNode, currentNode.getCost() + 1));
+            for (Board neighbor : currentNode.getBoard().generateNeighbors()) {
+                long neighborKey = neighbor.getZobristKey();
+                if (visited.add(neighborKey)) {
+                    parents.put(neighborKey, currentKey);
+                    queue.add(new UCSNode(neighbor, currentNode.getCost() + 1));
                 }
             }
         }
 
         executionTime = System.currentTimeMillis() - startTime;
-        return Collections.emptyList(); 
+        return monitor.finish(Collections.emptyList(), nodesVisited, executionTime);
+    }
+
+    private Solution solveParallel(Board initialBoard, SearchMonitor monitor) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            ParallelLayerSearch search = new ParallelLayerSearch(pool);
+            Solution path = search.solve(initialBoard, monitor);
+            nodesVisited = search.getNodesVisited();
+            return path;
+        } finally {
+            pool.shutdown();
+        }
     }
 
     private static class UCSNode implements SearchNode {
         private final Board board;
-        private final SearchNode parent;
         private final int cost;
 
-        public UCSNode(Board board, SearchNode parent, int cost) {
+        public UCSNode(Board board, int cost) {
             this.board = board;
-            this.parent = parent;
             this.cost = cost;
         }
 
@@ -58,7 +107,7 @@ public class UCS implements PathfindingAlgorithm {
 
         @Override
         public SearchNode getParent() {
-            return parent;
+            return null;
         }
 
         @Override
@@ -77,16 +126,6 @@ public class UCS implements PathfindingAlgorithm {
         }
     }
 
-    private List<Board> reconstructPath(UCSNode node) {
-        LinkedList<Board> path = new LinkedList<>();
-        while (node != null) {
-            path.add(node.getBoard());
-            node = (UCSNode) node.getParent();
-        }
-        Collections.reverse(path);
-        return path;
-    }
-
     @Override
     public String getName() {
         return "Uniform Cost Search (UCS)";
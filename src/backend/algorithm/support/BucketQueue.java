@@ -0,0 +1,111 @@
+package backend.algorithm.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bucket queue (Dial) untuk prioritas bilangan bulat kecil non-negatif: satu bucket
+ * per prioritas dan kursor di bucket tidak kosong terendah, sehingga push dan pop
+ * O(1) amortized. Biaya tiap langkah 1 dan heuristiknya bilangan bulat kecil,
+ * sehingga f dan h tetap dalam rentang sempit.
+ *
+ * <p>Jika ada prioritas di luar {@code [0, MAX_BUCKETS)}, semua node dalam antrean
+ * dipindah ke {@link HeapQueue} dan antrean berlanjut sebagai binary heap.
+ *
+ * @param <T> Tipe node pencarian yang disimpan
+ */
+public class BucketQueue<T> implements OpenList<T> {
+    public static final int MAX_BUCKETS = 1 << 16;
+
+    private final TieBreak tieBreak;
+    private ArrayDeque<T>[] buckets;
+    private int cursor;
+    private int size;
+    private HeapQueue<T> fallback;
+
+    public BucketQueue(TieBreak tieBreak) {
+        this(64, tieBreak);
+    }
+
+    /**
+     * @param expectedMaxPriority Perkiraan prioritas terbesar, untuk ukuran awal bucket
+     * @param tieBreak Urutan node dengan prioritas sama
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public BucketQueue(int expectedMaxPriority, TieBreak tieBreak) {
+        this.tieBreak = tieBreak;
+        int capacity = Math.max(1, Math.min(expectedMaxPriority + 1, MAX_BUCKETS));
+        this.buckets = new ArrayDeque[capacity];
+        this.cursor = capacity;
+    }
+
+    @Override
+    public void add(T item, int priority) {
+        if (fallback != null) {
+            fallback.add(item, priority);
+            return;
+        }
+        if (priority < 0 || priority >= MAX_BUCKETS) {
+            switchToHeap();
+            fallback.add(item, priority);
+            return;
+        }
+        if (priority >= buckets.length) {
+            buckets = Arrays.copyOf(buckets, Math.min(MAX_BUCKETS,
+                    Math.max(priority + 1, buckets.length << 1)));
+        }
+        ArrayDeque<T> bucket = buckets[priority];
+        if (bucket == null) {
+            bucket = new ArrayDeque<>();
+            buckets[priority] = bucket;
+        }
+        bucket.addLast(item);
+        if (priority < cursor) cursor = priority;
+        size++;
+    }
+
+    @Override
+    public T poll() {
+        if (fallback != null) return fallback.poll();
+        if (size == 0) return null;
+
+        while (buckets[cursor] == null || buckets[cursor].isEmpty()) {
+            cursor++;
+        }
+        size--;
+        ArrayDeque<T> bucket = buckets[cursor];
+        return tieBreak == TieBreak.LIFO ? bucket.pollLast() : bucket.pollFirst();
+    }
+
+    @Override
+    public int size() {
+        return fallback != null ? fallback.size() : size;
+    }
+
+    private void switchToHeap() {
+        // Pindahkan isi bucket ke heap dengan urutan keluar yang sama
+        List<T> items = new ArrayList<>(size);
+        List<Integer> priorities = new ArrayList<>(size);
+        while (size > 0) {
+            int priority = nextPriority();
+            items.add(poll());
+            priorities.add(priority);
+        }
+        fallback = new HeapQueue<>(tieBreak);
+        if (tieBreak == TieBreak.LIFO) {
+            for (int i = items.size() - 1; i >= 0; i--) fallback.add(items.get(i), priorities.get(i));
+        } else {
+            for (int i = 0; i < items.size(); i++) fallback.add(items.get(i), priorities.get(i));
+        }
+        buckets = null;
+    }
+
+    private int nextPriority() {
+        while (buckets[cursor] == null || buckets[cursor].isEmpty()) {
+            cursor++;
+        }
+        return cursor;
+    }
+}
@@ -0,0 +1,14 @@
+package backend.algorithm.support;
+
+final class HashMix {
+    private HashMix() {
+    }
+
+    /**
+     * Memetakan key 64-bit ke slot tabel berukuran pangkat dua.
+     */
+    static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
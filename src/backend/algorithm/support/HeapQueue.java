@@ -0,0 +1,99 @@
+package backend.algorithm.support;
+
+/**
+ * Binary min-heap dengan prioritas bilangan bulat. Prioritas yang sama diurutkan
+ * menurut urutan masuk sesuai {@link OpenList.TieBreak}. Dipakai jika prioritas
+ * tidak terbatas.
+ *
+ * @param <T> Tipe node pencarian yang disimpan
+ */
+public class HeapQueue<T> implements OpenList<T> {
+    private Object[] items = new Object[64];
+    private int[] priorities = new int[64];
+    private long[] sequence = new long[64];
+    private int size;
+    private long counter;
+    private final boolean lifo;
+
+    public HeapQueue(TieBreak tieBreak) {
+        this.lifo = tieBreak == TieBreak.LIFO;
+    }
+
+    @Override
+    public void add(T item, int priority) {
+        if (size == items.length) grow();
+        int i = size++;
+        items[i] = item;
+        priorities[i] = priority;
+        // LIFO: node yang lebih baru diberi urutan lebih kecil
+        sequence[i] = lifo ? -(counter++) : counter++;
+        siftUp(i);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        if (size == 0) return null;
+        T top = (T) items[0];
+        size--;
+        if (size > 0) {
+            move(size, 0);
+            siftDown(0);
+        }
+        items[size] = null;
+        return top;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private boolean less(int a, int b) {
+        if (priorities[a] != priorities[b]) return priorities[a] < priorities[b];
+        return sequence[a] < sequence[b];
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(i, parent)) break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) break;
+            int child = left + 1 < size && less(left + 1, left) ? left + 1 : left;
+            if (!less(child, i)) break;
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    private void move(int from, int to) {
+        items[to] = items[from];
+        priorities[to] = priorities[from];
+        sequence[to] = sequence[from];
+    }
+
+    private void swap(int a, int b) {
+        Object item = items[a];
+        int priority = priorities[a];
+        long seq = sequence[a];
+        move(b, a);
+        items[b] = item;
+        priorities[b] = priority;
+        sequence[b] = seq;
+    }
+
+    private void grow() {
+        int capacity = items.length << 1;
+        items = java.util.Arrays.copyOf(items, capacity);
+        priorities = java.util.Arrays.copyOf(priorities, capacity);
+        sequence = java.util.Arrays.copyOf(sequence, capacity);
+    }
+}
@@ -0,0 +1,108 @@
+package backend.algorithm.support;
+
+import java.util.Arrays;
+
+/**
+ * Hash map open addressing (linear probing) dari key {@code long} primitif ke nilai
+ * {@code int}. Dipakai untuk skor per state dengan key Zobrist.
+ */
+public class LongIntMap {
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    // Slot kosong ditandai dengan 0, jadi key 0 disimpan terpisah
+    private boolean hasZero;
+    private int zeroValue;
+
+    public LongIntMap() {
+        this(1 << 10);
+    }
+
+    public LongIntMap(int expectedSize) {
+        allocate(LongSet.tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Menyimpan nilai untuk key, menggantikan nilai sebelumnya.
+     */
+    public void put(long key, int value) {
+        if (key == 0L) {
+            if (!hasZero) size++;
+            hasZero = true;
+            zeroValue = value;
+            return;
+        }
+        int i = HashMix.slot(key, mask);
+        while (keys[i] != 0L) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size >= resizeAt) rehash(keys.length << 1);
+    }
+
+    /**
+     * Mendapatkan nilai sebuah key.
+     * @param key Key yang dicari
+     * @param missing Nilai yang dikembalikan jika key tidak ada
+     * @return Nilai tersimpan atau {@code missing}
+     */
+    public int get(long key, int missing) {
+        if (key == 0L) return hasZero ? zeroValue : missing;
+        int i = HashMix.slot(key, mask);
+        while (keys[i] != 0L) {
+            if (keys[i] == key) return values[i];
+            i = (i + 1) & mask;
+        }
+        return missing;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0L) return hasZero;
+        int i = HashMix.slot(key, mask);
+        while (keys[i] != 0L) {
+            if (keys[i] == key) return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        hasZero = false;
+        size = 0;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            long k = oldKeys[j];
+            if (k == 0L) continue;
+            int i = HashMix.slot(k, mask);
+            while (keys[i] != 0L) i = (i + 1) & mask;
+            keys[i] = k;
+            values[i] = oldValues[j];
+        }
+    }
+}
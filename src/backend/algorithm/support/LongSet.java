@@ -0,0 +1,97 @@
+package backend.algorithm.support;
+
+import java.util.Arrays;
+
+/**
+ * Hash set open addressing (linear probing) untuk key {@code long} primitif.
+ * Ditujukan untuk key Zobrist, sehingga tanpa boxing dan tanpa referensi ke papan.
+ */
+public class LongSet {
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    // Slot kosong ditandai dengan 0, jadi key 0 disimpan terpisah
+    private boolean hasZero;
+
+    public LongSet() {
+        this(1 << 10);
+    }
+
+    public LongSet(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Menambahkan key.
+     * @param key Key yang ditambahkan
+     * @return true jika key belum ada sebelumnya
+     */
+    public boolean add(long key) {
+        if (key == 0L) {
+            if (hasZero) return false;
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int i = HashMix.slot(key, mask);
+        while (keys[i] != 0L) {
+            if (keys[i] == key) return false;
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        if (++size >= resizeAt) rehash(keys.length << 1);
+        return true;
+    }
+
+    public boolean contains(long key) {
+        if (key == 0L) return hasZero;
+        int i = HashMix.slot(key, mask);
+        while (keys[i] != 0L) {
+            if (keys[i] == key) return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        hasZero = false;
+        size = 0;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        allocate(capacity);
+        for (long k : oldKeys) {
+            if (k == 0L) continue;
+            int i = HashMix.slot(k, mask);
+            while (keys[i] != 0L) i = (i + 1) & mask;
+            keys[i] = k;
+        }
+    }
+
+    static int tableSizeFor(int expectedSize) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 2) / (double) LOAD_FACTOR);
+        if (needed > (1 << 30)) {
+            throw new IllegalArgumentException("Kapasitas tabel terlalu besar: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+}
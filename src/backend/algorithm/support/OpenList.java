@@ -0,0 +1,33 @@
+package backend.algorithm.support;
+
+/**
+ * Open list pencarian best-first, diurutkan menurut prioritas bilangan bulat
+ * (terkecil lebih dulu).
+ *
+ * @param <T> Tipe node pencarian yang disimpan
+ */
+public interface OpenList<T> {
+    /**
+     * Urutan node yang prioritasnya sama.
+     */
+    enum TieBreak {
+        /** Node terakhir yang masuk keluar lebih dulu (cenderung lebih dalam). */
+        LIFO,
+        /** Node pertama yang masuk keluar lebih dulu. */
+        FIFO
+    }
+
+    void add(T item, int priority);
+
+    /**
+     * Mengambil node dengan prioritas terkecil.
+     * @return Node tersebut, atau null jika list kosong
+     */
+    T poll();
+
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
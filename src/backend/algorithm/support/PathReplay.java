@@ -0,0 +1,76 @@
+package backend.algorithm.support;
+
+import backend.model.Board;
+import backend.model.Move;
+import backend.model.Solution;
+
+import java.util.*;
+
+/**
+ * Membangun ulang solusi dari tautan induk yang disimpan sebagai key Zobrist, sehingga
+ * solver tidak perlu menyimpan setiap {@link Board} yang dikunjungi. Hanya langkah pada
+ * path yang disimpan; papan baru dibangun kemudian oleh {@link Solution}.
+ */
+public final class PathReplay {
+    private PathReplay() {
+    }
+
+    /**
+     * Membangun solusi dari papan awal ke state dengan {@code goalKey}. Rantai key
+     * ditelusuri mundur lewat {@code parents}, lalu diputar maju dengan memilih
+     * successor yang key-nya cocok dengan mata rantai berikutnya.
+     *
+     * @param initialBoard Akar pencarian
+     * @param parents Map dari key state ke key induknya
+     * @param goalKey Key state akhir
+     * @return Solusi dari papan awal ke state akhir
+     */
+    public static Solution rebuild(Board initialBoard, LongLongMap parents, long goalKey) {
+        long rootKey = initialBoard.getZobristKey();
+        List<Long> chain = new ArrayList<>();
+        long key = goalKey;
+        while (key != rootKey) {
+            chain.add(key);
+            if (!parents.containsKey(key)) {
+                throw new IllegalStateException("Rantai parent terputus pada key " + key);
+            }
+            key = parents.get(key, rootKey);
+        }
+        Collections.reverse(chain);
+
+        List<Move> moves = new ArrayList<>(chain.size());
+        Board current = initialBoard;
+        for (long next : chain) {
+            current = successorWithKey(current, next);
+            moves.add(current.getLastMove());
+        }
+        return new Solution(initialBoard, moves);
+    }
+
+    /**
+     * Memperpanjang solusi dengan mengikuti tautan maju (key state ke key state
+     * berikutnya) dari papan terakhirnya hingga state tanpa tautan.
+     *
+     * @param solution Solusi yang diperpanjang
+     * @param next Map dari key state ke key state sesudahnya
+     * @return Solusi yang sudah diperpanjang
+     */
+    public static Solution appendForward(Solution solution, LongLongMap next) {
+        List<Move> moves = new ArrayList<>(solution.getMoves());
+        Board current = solution.getFinalBoard();
+        while (next.containsKey(current.getZobristKey())) {
+            current = successorWithKey(current, next.get(current.getZobristKey(), 0L));
+            moves.add(current.getLastMove());
+        }
+        return new Solution(solution.getInitialBoard(), moves);
+    }
+
+    private static Board successorWithKey(Board board, long key) {
+        for (Board neighbor : board.generateNeighbors()) {
+            if (neighbor.getZobristKey() == key) {
+                return neighbor;
+            }
+        }
+        throw new IllegalStateException("Tidak ada successor dengan key " + key);
+    }
+}
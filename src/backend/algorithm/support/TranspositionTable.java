@@ -0,0 +1,53 @@
+package backend.algorithm.support;
+
+/**
+ * Transposition table berukuran tetap (direct-mapped) dari key Zobrist ke biaya
+ * terkecil saat state dicapai dalam satu iterasi pencarian. Entri baru langsung
+ * menimpa slot, sehingga memori tetap konstan sebesar apa pun pencariannya.
+ */
+public class TranspositionTable {
+    private final long[] keys;
+    private final int[] costs;
+    private final int[] stamps;
+    private final int mask;
+    private int stamp = 1;
+
+    /**
+     * @param capacity Jumlah slot, dibulatkan ke pangkat dua terdekat
+     */
+    public TranspositionTable(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.keys = new long[size];
+        this.costs = new int[size];
+        this.stamps = new int[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Memulai iterasi baru; entri dari iterasi sebelumnya dianggap kosong.
+     */
+    public void nextIteration() {
+        stamp++;
+    }
+
+    /**
+     * Mencatat bahwa state dicapai dengan biaya tertentu, kecuali state tersebut sudah
+     * dicapai dengan biaya yang sama atau lebih kecil pada iterasi ini.
+     *
+     * @return true jika state sudah dicapai dengan biaya tidak lebih dari {@code cost}
+     */
+    public boolean seenAtOrBelow(long key, int cost) {
+        int i = HashMix.slot(key, mask);
+        if (stamps[i] == stamp && keys[i] == key && costs[i] <= cost) {
+            return true;
+        }
+        keys[i] = key;
+        costs[i] = cost;
+        stamps[i] = stamp;
+        return false;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+}
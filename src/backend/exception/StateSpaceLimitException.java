@@ -0,0 +1,15 @@
+package backend.exception;
+
+/**
+ * Exception yang dilempar saat ruang state terlalu besar untuk ditabelkan: jumlah
+ * state melebihi batas enumerasi atau jaraknya tidak muat dalam satu byte.
+ */
+public class StateSpaceLimitException extends IllegalStateException {
+    /**
+     * Buat exception dengan pesan kesalahan.
+     * @param message deskripsi kesalahan
+     */
+    public StateSpaceLimitException(String message) {
+        super(message);
+    }
+}
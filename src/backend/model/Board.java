@@ -2,133 +2,358 @@ package backend.model;
 
 import java.util.*;
 
+/**
+ * Satu state dari sebuah puzzle. Metadata mobil disimpan di {@link Puzzle} bersama;
+ * state-nya sendiri adalah posisi setiap mobil di lintasannya ditambah okupansinya:
+ * satu {@code long} row-major untuk papan hingga 64 sel, atau untuk papan yang lebih
+ * besar (hingga {@link Puzzle#MAX_LARGE_SIDE} per sisi) satu mask 32-bit per baris dan
+ * per kolom. Dengan mask tersebut, jarak geser sebuah mobil cukup dicari dengan satu
+ * bit scan pada baris atau kolomnya, sehingga membangkitkan langkah berbiaya
+ * O(jumlah mobil), bukan menelusuri sel kosong di setiap lintasan.
+ */
 public class Board {
-    private final int rows;
-    private final int cols;
-    private final Map<Character, Car> cars;
-    private final char[][] grid;
-    private final long[][][] zobristTable;
-    private final int exitRow, exitCol;
+    private final Puzzle puzzle;
+    private final byte[] positions;
+    private final long occupancy;
+    // Papan > 64 sel: lines[r] = kolom terisi di baris r, lines[rows + c] = baris terisi di kolom c
+    private final int[] lines;
     private final long zobristKey;
+    // Langkah yang menghasilkan state ini: indeks mobil (-1 untuk papan awal) dan pergeserannya
+    private final short movedCar;
+    private final byte moveDelta;
 
-    public Board(int rows, int cols, List<Car> cars, long[][][] zobristTable, int exitRow, int exitCol) {
-        this.rows = rows;
-        this.cols = cols;
-        this.zobristTable = zobristTable;
-        this.cars = new HashMap<>();
-        this.grid = new char[rows][cols];
+    /**
+     * Membangun papan awal dari puzzle baru. Key Zobrist diambil dari tabel yang
+     * dipakai bersama oleh semua puzzle dengan ukuran dan jumlah mobil yang sama.
+     */
+    public Board(int rows, int cols, List<Car> cars, int exitRow, int exitCol) {
+        this(new Puzzle(rows, cols, cars, exitRow, exitCol), cars);
+    }
 
-        for (char[] row : grid) {
-            Arrays.fill(row, '.');
+    private Board(Puzzle puzzle, List<Car> cars) {
+        this(puzzle, initialPositions(puzzle, cars));
+    }
+
+    private Board(Puzzle puzzle, byte[] positions) {
+        this.puzzle = puzzle;
+        this.positions = positions;
+
+        long occ = 0L;
+        int rows = puzzle.getRows();
+        int cols = puzzle.getCols();
+        int[] ln = puzzle.getWordCount() > 1 ? new int[rows + cols] : null;
+        for (int i = 0; i < positions.length; i++) {
+            for (int k = 0; k < puzzle.getLength(i); k++) {
+                int cell = puzzle.cellOf(i, positions[i], k);
+                if (ln == null) {
+                    occ |= 1L << cell;
+                } else {
+                    ln[cell / cols] |= 1 << (cell % cols);
+                    ln[rows + cell % cols] |= 1 << (cell / cols);
+                }
+            }
+        }
+        this.occupancy = occ;
+        this.lines = ln;
+        this.zobristKey = computeZobrist();
+        this.movedCar = -1;
+        this.moveDelta = 0;
+    }
+
+    /**
+     * Membangun successor {@code parent} yang hanya menggeser satu mobil. Okupansi
+     * dan Zobrist key diturunkan dari induknya dengan memperbarui mobil itu saja.
+     */
+    private Board(Board parent, int car, int delta) {
+        this.puzzle = parent.puzzle;
+        this.positions = parent.positions.clone();
+
+        int from = positions[car];
+        int to = from + delta;
+        positions[car] = (byte) to;
+
+        if (parent.lines == null) {
+            this.occupancy = parent.occupancy
+                ^ puzzle.positionMask(car, from) ^ puzzle.positionMask(car, to);
+            this.lines = null;
+        } else {
+            this.occupancy = 0L;
+            this.lines = moveLines(puzzle, parent.lines, car, from, to);
+        }
+
+        this.zobristKey = parent.zobristKey
+            ^ puzzle.positionKey(car, from) ^ puzzle.positionKey(car, to);
+        this.movedCar = (short) car;
+        this.moveDelta = (byte) delta;
+    }
+
+    // Satu XOR pada garis lintasan, lalu satu bit per sel pada garis yang menyilang
+    private static int[] moveLines(Puzzle puzzle, int[] parentLines, int car, int from, int to) {
+        int[] ln = parentLines.clone();
+        int len = puzzle.getLength(car);
+        int span = (1 << len) - 1;
+        ln[puzzle.lineOf(car)] ^= span << from ^ span << to;
+        int cross = puzzle.crossLineOffset(car);
+        int bit = 1 << puzzle.getLane(car);
+        for (int k = 0; k < len; k++) {
+            ln[cross + from + k] &= ~bit;
         }
+        for (int k = 0; k < len; k++) {
+            ln[cross + to + k] |= bit;
+        }
+        return ln;
+    }
 
+    private static byte[] initialPositions(Puzzle puzzle, List<Car> cars) {
+        byte[] positions = new byte[puzzle.getCarCount()];
         for (Car c : cars) {
-            this.cars.put(c.getId(), c);
-            placeOnGrid(c);
+            int i = puzzle.indexOf(c.getId());
+            positions[i] = (byte) (c.isHorizontal() ? c.getCol() : c.getRow());
         }
+        return positions;
+    }
 
-        this.zobristKey = computeZobrist(zobristTable);
-        this.exitRow = exitRow;
-        this.exitCol = exitCol;
+    /**
+     * Memeriksa apakah sebuah sel ditempati mobil.
+     * @param row Baris sel
+     * @param col Kolom sel
+     * @return true jika sel terisi
+     */
+    public boolean isOccupied(int row, int col) {
+        return isOccupied(puzzle.cellIndex(row, col));
     }
 
-    private void placeOnGrid(Car c) {
-        int r = c.getRow(), c0 = c.getCol();
-        for (int i = 0; i < c.getLength(); i++) {
-            grid[r + (c.isHorizontal() ? 0 : i)]
-                [c0 + (c.isHorizontal() ? i : 0)] = c.getId();
+    private boolean isOccupied(int cell) {
+        if (lines == null) {
+            return (occupancy >>> cell & 1L) != 0;
         }
+        int cols = puzzle.getCols();
+        return (lines[cell / cols] >>> (cell % cols) & 1) != 0;
     }
 
-    public List<Board> generateNeighbors(long[][][] zobristTable) {
-        List<Board> neighbors = new ArrayList<>();
-        for (Car c : cars.values()) {
-            // Gerak mundur hingga mentok
-            int delta = -1;
-            int lastValidDelta = 0;
-            while (canMove(c, delta)) {
-                lastValidDelta = delta;
-                delta--;
+    /**
+     * Menghitung sel terisi di dalam mask sepanjang {@link Puzzle#getWordCount()} word.
+     * @param mask Mask sel
+     * @return Jumlah sel terisi di dalam mask
+     */
+    public int countOccupied(long[] mask) {
+        if (lines == null) {
+            return Long.bitCount(occupancy & mask[0]);
+        }
+        int count = 0;
+        for (int w = 0; w < mask.length; w++) {
+            for (long bits = mask[w]; bits != 0; bits &= bits - 1) {
+                if (isOccupied((w << 6) + Long.numberOfTrailingZeros(bits))) count++;
+            }
+        }
+        return count;
+    }
+
+    public List<Board> generateNeighbors() {
+        if (lines != null) {
+            return generateLargeNeighbors();
+        }
+        List<Board> neighbors = new ArrayList<>(2 * positions.length);
+        for (int i = 0; i < positions.length; i++) {
+            int[] lane = puzzle.laneCells(i);
+            int pos = positions[i];
+            int end = pos + puzzle.getLength(i);
+
+            // Gerak mundur hingga mentok: telusuri sel kosong di belakang mobil
+            int back = pos;
+            while (back > 0 && (occupancy >>> lane[back - 1] & 1L) == 0) {
+                back--;
             }
-            if (lastValidDelta != 0) {
-                neighbors.add(applyMove(c.getId(), lastValidDelta, zobristTable));
+            if (back != pos) {
+                neighbors.add(applyMoveAt(i, back - pos));
             }
 
-            // Gerak maju
-            delta = 1;
-            lastValidDelta = 0;
-            while (canMove(c,delta)) {
-                lastValidDelta = delta;
-                delta++;
+            // Gerak maju hingga mentok: telusuri sel kosong di depan mobil
+            int front = end;
+            while (front < lane.length && (occupancy >>> lane[front] & 1L) == 0) {
+                front++;
             }
-            if (lastValidDelta != 0) {
-                neighbors.add(applyMove(c.getId(), lastValidDelta, zobristTable));
+            if (front != end) {
+                neighbors.add(applyMoveAt(i, front - end));
             }
         }
         return neighbors;
     }
 
-    private boolean canMove(Car c, int delta) {
-        int newR = c.getRow() + (c.isHorizontal() ? 0 : delta);
-        int newC = c.getCol() + (c.isHorizontal() ? delta : 0);
-        int endR = newR + (c.isHorizontal() ? 0 : c.getLength() - 1);
-        int endC = newC + (c.isHorizontal() ? c.getLength() - 1 : 0);
+    // Papan besar: batas geser tiap mobil dari satu bit scan pada garis lintasannya
+    private List<Board> generateLargeNeighbors() {
+        List<Board> neighbors = new ArrayList<>(2 * positions.length);
+        for (int i = 0; i < positions.length; i++) {
+            int pos = positions[i];
+            int end = pos + puzzle.getLength(i);
+            int back = backLimit(i);
+            if (back != pos) {
+                neighbors.add(applyMoveAt(i, back - pos));
+            }
+            int front = frontLimit(i);
+            if (front != end) {
+                neighbors.add(applyMoveAt(i, front - end));
+            }
+        }
+        return neighbors;
+    }
 
-        if (newR < 0 || newC < 0 || endR >= rows || endC >= cols) {
-            return false;
+    /**
+     * Mendapatkan posisi terkecil yang dicapai mobil dengan bergeser mundur.
+     */
+    private int backLimit(int car) {
+        int pos = positions[car];
+        if (lines != null) {
+            // Sel terisi tertinggi di belakang mobil pada garis lintasannya
+            int behind = lines[puzzle.lineOf(car)] & ((1 << pos) - 1);
+            return behind == 0 ? 0 : 32 - Integer.numberOfLeadingZeros(behind);
         }
+        int[] lane = puzzle.laneCells(car);
+        int back = pos;
+        while (back > 0 && !isOccupied(lane[back - 1])) {
+            back--;
+        }
+        return back;
+    }
 
-        // Cek tabrakan dengan mobil lain
-        // Buat set posisi yang ditempati mobil c sebelum pindah
-        Set<String> oldPositions = new HashSet<>();
-        int r0 = c.getRow();
-        int c0 = c.getCol();
-        for (int i = 0; i < c.getLength(); i++) {
-            int rr = r0 + (c.isHorizontal() ? 0 : i);
-            int cc = c0 + (c.isHorizontal() ? i : 0);
-            oldPositions.add(rr + "," + cc);
+    /**
+     * Mendapatkan ujung terjauh (eksklusif) mobil setelah bergeser maju.
+     */
+    private int frontLimit(int car) {
+        int[] lane = puzzle.laneCells(car);
+        int end = positions[car] + puzzle.getLength(car);
+        if (lines != null) {
+            if (end == lane.length) return end;
+            // Sel terisi terendah di depan mobil pada garis lintasannya
+            int ahead = lines[puzzle.lineOf(car)] >>> end;
+            return ahead == 0 ? lane.length : end + Integer.numberOfTrailingZeros(ahead);
         }
+        int front = end;
+        while (front < lane.length && !isOccupied(lane[front])) {
+            front++;
+        }
+        return front;
+    }
 
-        // Periksa semua posisi baru yang akan ditempati mobil c
-        for (int i = 0; i < c.getLength(); i++) {
-            int rr = newR + (c.isHorizontal() ? 0 : i);
-            int cc = newC + (c.isHorizontal() ? i : 0);
-            // Jika sel ini sudah ditempati oleh mobil lain, return false
-            char cell = grid[rr][cc];
-            if (cell != '.' && !oldPositions.contains(rr + "," + cc)) {
-                return false;
+    /**
+     * Membangkitkan semua state yang dengan satu langkah menghasilkan papan ini.
+     * Langkah menggeser mobil sampai mentok, sehingga mobil hanya punya predecessor
+     * di sisi yang berlawanan dengan ujung yang tertutup: jika depannya tertutup,
+     * mobil bisa datang dari posisi kosong mana pun di belakangnya, dan sebaliknya.
+     * @return Daftar papan predecessor
+     */
+    public List<Board> generatePredecessors() {
+        List<Board> predecessors = new ArrayList<>();
+        for (int i = 0; i < positions.length; i++) {
+            int pos = positions[i];
+            int end = pos + puzzle.getLength(i);
+            int back = backLimit(i);
+            int front = frontLimit(i);
+
+            // Mobil berhenti di sini karena depannya tertutup: asalnya dari belakang
+            if (front == end) {
+                for (int p = back; p < pos; p++) {
+                    predecessors.add(applyMoveAt(i, p - pos));
+                }
+            }
+            // Mobil berhenti di sini karena belakangnya tertutup: asalnya dari depan
+            if (back == pos) {
+                for (int p = pos + 1; p <= pos + (front - end); p++) {
+                    predecessors.add(applyMoveAt(i, p - pos));
+                }
             }
         }
+        return predecessors;
+    }
 
-        return true;
+    /**
+     * Membangun state lain dari puzzle yang sama dari posisi mobil yang diberikan.
+     * @param newPositions Posisi semua mobil, diindeks seperti di {@link Puzzle}
+     * @return Papan baru
+     * @throws IllegalArgumentException jika mobil keluar papan atau dua mobil bertumpuk
+     */
+    public Board withPositions(int[] newPositions) {
+        if (newPositions.length != positions.length) {
+            throw new IllegalArgumentException("Jumlah posisi harus " + positions.length);
+        }
+        boolean[] used = new boolean[getRows() * getCols()];
+        byte[] packed = new byte[newPositions.length];
+        for (int i = 0; i < newPositions.length; i++) {
+            int p = newPositions[i];
+            if (p < 0 || p + puzzle.getLength(i) > puzzle.laneCells(i).length) {
+                throw new IllegalArgumentException("Mobil " + puzzle.getId(i) + " keluar papan");
+            }
+            for (int k = 0; k < puzzle.getLength(i); k++) {
+                int cell = puzzle.cellOf(i, p, k);
+                if (used[cell]) {
+                    throw new IllegalArgumentException("Mobil " + puzzle.getId(i) + " bertabrakan");
+                }
+                used[cell] = true;
+            }
+            packed[i] = (byte) p;
+        }
+        return new Board(puzzle, packed);
     }
 
-    public Board applyMove(char carId, int delta, long[][][] zobristTable) {
-        List<Car> newCars = new ArrayList<>();
-        for (Car c : cars.values()) newCars.add(c.copy());
+    /**
+     * Membangkitkan tetangga. Tabel harus tabel dari {@link #getZobristTable()}.
+     */
+    public List<Board> generateNeighbors(long[] zobristTable) {
+        return generateNeighbors();
+    }
 
-        for (Car c : newCars) {
-            if (c.getId() == carId) {
-                c.move(delta);
-                break;
-            }
+    /**
+     * Memeriksa apakah langkah sah pada papan ini: mobil tetap di lintasannya dan
+     * hanya bergeser melewati sel kosong.
+     * @param move Langkah yang diperiksa
+     * @return true jika langkah dapat dijalankan
+     */
+    public boolean isLegal(Move move) {
+        int car = move.getCarIndex() >= 0 ? move.getCarIndex() : puzzle.indexOf(move.getCarId());
+        int delta = move.getDelta();
+        if (car < 0 || car >= positions.length || delta == 0) return false;
+        int[] lane = puzzle.laneCells(car);
+        int pos = positions[car];
+        int end = pos + puzzle.getLength(car);
+        // Sel yang dilewati: di depan mobil saat maju, di belakangnya saat mundur
+        int from = delta > 0 ? end : pos + delta;
+        int to = delta > 0 ? end + delta : pos;
+        if (from < 0 || to > lane.length) return false;
+        for (int p = from; p < to; p++) {
+            if (isOccupied(lane[p])) return false;
         }
-        return new Board(rows, cols, newCars, zobristTable, exitRow, exitCol);
+        return true;
+    }
+
+    public Board applyMove(char carId, int delta) {
+        return applyMoveAt(puzzle.indexOf(carId), delta);
     }
 
-    private long computeZobrist(long [][][] zobristTable) {
+    /**
+     * Menerapkan langkah dari puzzle ini. Legalitas langkah tidak diperiksa.
+     * @param move Langkah yang diterapkan
+     * @return Papan setelah langkah
+     */
+    public Board apply(Move move) {
+        int car = move.getCarIndex() >= 0 ? move.getCarIndex() : puzzle.indexOf(move.getCarId());
+        return applyMoveAt(car, move.getDelta());
+    }
+
+    /**
+     * Menjalankan langkah. Tabel harus tabel dari {@link #getZobristTable()}.
+     */
+    public Board applyMove(char carId, int delta, long[] zobristTable) {
+        return applyMove(carId, delta);
+    }
+
+    private Board applyMoveAt(int car, int delta) {
+        return new Board(this, car, delta);
+    }
+
+    private long computeZobrist() {
         long h = 0L;
-        for (Car c : cars.values()) {
-            int r = c.getRow();
-            int c0 = c.getCol();
-            int len = c.getLength();
-            int idx = c.getId() - 'A';
-            
-            for (int i = 0; i < len; i++) {
-                int rr = r + (c.isHorizontal() ? 0 : i);
-                int cc = c0 + (c.isHorizontal() ? i : 0);
-                h ^= zobristTable[rr][cc][idx];
-            }
+        for (int i = 0; i < positions.length; i++) {
+            h ^= puzzle.positionKey(i, positions[i]);
         }
         return h;
     }
@@ -141,38 +366,21 @@ public class Board {
     }
 
     public boolean isGoal() {
-        Car player = cars.get('P');
-        if (player == null) return false;
-
-        if (player.isHorizontal()) {
-            if (getExitCol() < 0) {
-                int leftEndCol = player.getCol() - 1;
-                return (player.getRow() == exitRow) && (leftEndCol == exitCol);
-            } else {
-                int rightEndCol = player.getCol() + player.getLength();
-                return (player.getRow() == exitRow) && (rightEndCol == exitCol);
-            }
-        } else {
-            if (getExitRow() < 0) {
-                int topEndRow = player.getRow() - 1;
-                return (topEndRow == exitRow) && (player.getCol() == exitCol);
-            } else {
-                int bottomEndRow = player.getRow() + player.getLength();
-                return (bottomEndRow == exitRow) && (player.getCol() == exitCol);        
-            }
-        }
+        int player = puzzle.getPlayerIndex();
+        if (player < 0) return false;
+        return positions[player] == puzzle.getGoalPosition();
     }
 
     public void printDebugInfo() {
         System.out.println("\n[DEBUG BOARD STATE]");
-        System.out.println("Exit position: (" + exitRow + "," + exitCol + ")");
+        System.out.println("Exit position: (" + getExitRow() + "," + getExitCol() + ")");
         System.out.println("Zobrist key: " + zobristKey);
         System.out.println("Cars positions:");
-        
-        cars.forEach((id, car) -> {
-            System.out.printf("  %s: %s\n", id, car.toString());
-        });
-        
+
+        for (Car car : getCars()) {
+            System.out.printf("  %s: %s\n", car.getId(), car.toString());
+        }
+
         System.out.println("\nCurrent grid:");
         System.out.println(this.toString());
     }
@@ -182,23 +390,65 @@ public class Board {
     }
 
     public Car getCar(char id) {
-        return cars.get(id).copy();
+        int i = puzzle.indexOf(id);
+        return i < 0 ? null : toCar(i);
+    }
+
+    private Car toCar(int i) {
+        return new Car(puzzle.getId(i), puzzle.isHorizontal(i), puzzle.getLength(i),
+                puzzle.rowOf(i, positions[i]), puzzle.colOf(i, positions[i]));
+    }
+
+    /**
+     * Mendapatkan posisi mobil di lintasannya: kolom jika horizontal, baris jika vertikal.
+     * @param car Indeks mobil di {@link Puzzle}
+     * @return Posisi mobil
+     */
+    public int getPosition(int car) {
+        return positions[car];
+    }
+
+    /**
+     * Mendapatkan langkah yang menghasilkan papan ini dari parent-nya.
+     * @return Langkah, atau null jika papan tidak dihasilkan dari sebuah langkah
+     */
+    public Move getLastMove() {
+        return movedCar < 0 ? null : puzzle.getMove(movedCar, moveDelta);
+    }
+
+    public Puzzle getPuzzle() {
+        return puzzle;
+    }
+
+    public long getZobristKey() {
+        return zobristKey;
     }
 
     public int getExitRow() {
-        return exitRow;
+        return puzzle.getExitRow();
     }
 
     public int getExitCol() {
-        return exitCol;
+        return puzzle.getExitCol();
     }
 
-    public long[][][] getZobristTable() {
-        return zobristTable;
+    public long[] getZobristTable() {
+        return puzzle.getZobristTable();
     }
 
     @Override
     public String toString() {
+        char[][] grid = new char[getRows()][getCols()];
+        for (char[] row : grid) {
+            Arrays.fill(row, '.');
+        }
+        for (int i = 0; i < positions.length; i++) {
+            for (int k = 0; k < puzzle.getLength(i); k++) {
+                int cell = puzzle.cellOf(i, positions[i], k);
+                grid[cell / getCols()][cell % getCols()] = puzzle.getId(i);
+            }
+        }
+
         StringBuilder sb = new StringBuilder();
         for (char[] row : grid) {
             for (char cell : row) {
@@ -208,13 +458,17 @@ public class Board {
         }
         return sb.toString();
     }
-    
+
     /**
      * Gets all cars in the board.
      * @return List of all cars
      */
     public List<Car> getCars() {
-        return new ArrayList<>(cars.values());
+        List<Car> cars = new ArrayList<>(positions.length);
+        for (int i = 0; i < positions.length; i++) {
+            cars.add(toCar(i));
+        }
+        return cars;
     }
 
     /**
@@ -222,7 +476,7 @@ public class Board {
      * @return Number of rows
      */
     public int getRows() {
-        return rows;
+        return puzzle.getRows();
     }
 
     /**
@@ -230,6 +484,6 @@ public class Board {
      * @return Number of columns
      */
     public int getCols() {
-        return cols;
+        return puzzle.getCols();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,250 @@
+package backend.model;
+
+import java.util.*;
+
+/**
+ * Bentuk normal sebuah puzzle, sama untuk semua variannya yang dicerminkan,
+ * ditransposisi dan dilabel ulang. Papan kanonik memiliki exit di kanan dan P horizontal:
+ * <ul>
+ *   <li>exit di kanan: tidak diubah;</li>
+ *   <li>exit di kiri: dicerminkan kiri-kanan;</li>
+ *   <li>exit di bawah: ditransposisi;</li>
+ *   <li>exit di atas: ditransposisi, lalu dicerminkan kiri-kanan.</li>
+ * </ul>
+ * P tetap memakai id-nya. Mobil lain dilabel ulang A, B, C, ... (melewati K dan P)
+ * sesuai urutan pemindaian: lintasan horizontal dari atas ke bawah, kiri ke kanan di
+ * dalam lintasan, lalu lintasan vertikal dari kiri ke kanan, atas ke bawah di dalam
+ * lintasan. Mobil tidak pernah saling melewati di satu lintasan, sehingga urutan ini,
+ * berbeda dengan pemindaian sel row-major, sama untuk setiap state puzzle. Pemetaan
+ * satu papan karenanya juga memetakan setiap state dan langkah puzzle-nya, sehingga
+ * cache dan distance database dengan key puzzle kanonik dapat melayani setiap varian.
+ */
+public final class CanonicalForm {
+    /**
+     * Transformasi geometris dari papan asli ke papan kanonik.
+     */
+    public enum Transform {
+        IDENTITY(false, false),
+        MIRROR(false, true),
+        TRANSPOSE(true, false),
+        TRANSPOSE_MIRROR(true, true);
+
+        private final boolean transposed;
+        private final boolean mirrored;
+
+        Transform(boolean transposed, boolean mirrored) {
+            this.transposed = transposed;
+            this.mirrored = mirrored;
+        }
+
+        public boolean isTransposed() {
+            return transposed;
+        }
+
+        /**
+         * @return true jika kolom dicerminkan setelah transposisi (bila ada)
+         */
+        public boolean isMirrored() {
+            return mirrored;
+        }
+    }
+
+    private final Board original;
+    private final Board canonical;
+    private final Transform transform;
+    // Per indeks mobil asli: indeks mobil kanonik dan apakah arah geraknya terbalik
+    private final int[] toCanonicalIndex;
+    private final boolean[] flipped;
+    private final int[] toOriginalIndex;
+
+    private CanonicalForm(Board original, Board canonical, Transform transform,
+                          int[] toCanonicalIndex, boolean[] flipped) {
+        this.original = original;
+        this.canonical = canonical;
+        this.transform = transform;
+        this.toCanonicalIndex = toCanonicalIndex;
+        this.flipped = flipped;
+        this.toOriginalIndex = new int[toCanonicalIndex.length];
+        for (int i = 0; i < toCanonicalIndex.length; i++) {
+            toOriginalIndex[toCanonicalIndex[i]] = i;
+        }
+    }
+
+    /**
+     * Menghitung bentuk kanonik sebuah papan.
+     * @param board Papan apa pun
+     * @return Bentuk kanonik papan beserta pemetaan kembali ke papan tersebut
+     */
+    public static CanonicalForm of(Board board) {
+        Puzzle puzzle = board.getPuzzle();
+        int rows = puzzle.getRows();
+        int cols = puzzle.getCols();
+        Transform transform = transformFor(puzzle);
+        int newRows = transform.transposed ? cols : rows;
+        int newCols = transform.transposed ? rows : cols;
+
+        // Sel pertama tiap mobil pada papan kanonik
+        int n = puzzle.getCarCount();
+        boolean[] horizontal = new boolean[n];
+        int[] newRow = new int[n];
+        int[] newCol = new int[n];
+        boolean[] flipped = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            int len = puzzle.getLength(i);
+            int pos = board.getPosition(i);
+            int r0 = puzzle.rowOf(i, pos), c0 = puzzle.colOf(i, pos);
+            int r1 = puzzle.isHorizontal(i) ? r0 : r0 + len - 1;
+            int c1 = puzzle.isHorizontal(i) ? c0 + len - 1 : c0;
+            int[] a = map(transform, rows, cols, r0, c0);
+            int[] b = map(transform, rows, cols, r1, c1);
+            horizontal[i] = puzzle.isHorizontal(i) != transform.transposed;
+            newRow[i] = Math.min(a[0], b[0]);
+            newCol[i] = Math.min(a[1], b[1]);
+            flipped[i] = horizontal[i] && transform.mirrored;
+        }
+
+        // Urutan scan lintasan: horizontal per baris, lalu vertikal per kolom
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, Comparator
+            .comparing((Integer i) -> !horizontal[i])
+            .thenComparingInt(i -> horizontal[i] ? newRow[i] : newCol[i])
+            .thenComparingInt(i -> horizontal[i] ? newCol[i] : newRow[i]));
+
+        char[] newIds = new char[n];
+        List<Car> cars = new ArrayList<>(n);
+        char id = 'A';
+        for (int i : order) {
+            if (i == puzzle.getPlayerIndex()) {
+                newIds[i] = 'P';
+            } else {
+                while (!isCanonicalId(id)) id++;
+                newIds[i] = id++;
+            }
+            cars.add(new Car(newIds[i], horizontal[i], puzzle.getLength(i), newRow[i], newCol[i]));
+        }
+        int[] exit = map(transform, rows, cols, puzzle.getExitRow(), puzzle.getExitCol());
+        Board canonical = new Board(newRows, newCols, cars, exit[0], exit[1]);
+
+        int[] toCanonicalIndex = new int[n];
+        for (int i = 0; i < n; i++) {
+            toCanonicalIndex[i] = canonical.getPuzzle().indexOf(newIds[i]);
+        }
+        return new CanonicalForm(board, canonical, transform, toCanonicalIndex, flipped);
+    }
+
+    private static Transform transformFor(Puzzle puzzle) {
+        if (puzzle.getExitCol() < 0) return Transform.MIRROR;
+        if (puzzle.getExitRow() >= puzzle.getRows()) return Transform.TRANSPOSE;
+        if (puzzle.getExitRow() < 0) return Transform.TRANSPOSE_MIRROR;
+        return Transform.IDENTITY;
+    }
+
+    private static int[] map(Transform transform, int rows, int cols, int row, int col) {
+        int r = transform.transposed ? col : row;
+        int c = transform.transposed ? row : col;
+        int width = transform.transposed ? rows : cols;
+        return new int[] { r, transform.mirrored ? width - 1 - c : c };
+    }
+
+    private static boolean isCanonicalId(char id) {
+        return id != 'K' && id != 'P' && id != '.' && !Character.isWhitespace(id) && !Character.isISOControl(id);
+    }
+
+    /**
+     * Mendapatkan papan kanonik dari papan asal bentuk ini.
+     * @return Papan kanonik
+     */
+    public Board getBoard() {
+        return canonical;
+    }
+
+    /**
+     * Mendapatkan papan asal bentuk ini.
+     * @return Papan asli
+     */
+    public Board getOriginal() {
+        return original;
+    }
+
+    public Transform getTransform() {
+        return transform;
+    }
+
+    /**
+     * Memetakan state mana pun dari puzzle asli ke puzzle kanonik.
+     * @param state State dari puzzle asli
+     * @return State yang sama pada puzzle kanonik
+     */
+    public Board toCanonical(Board state) {
+        if (state == original) return canonical;
+        int[] positions = new int[toCanonicalIndex.length];
+        for (int i = 0; i < positions.length; i++) {
+            positions[toCanonicalIndex[i]] = mapPosition(original.getPuzzle(), i, state.getPosition(i));
+        }
+        return canonical.withPositions(positions);
+    }
+
+    /**
+     * Memetakan state mana pun dari puzzle kanonik kembali ke puzzle asli.
+     * @param state State dari puzzle kanonik
+     * @return State yang sama pada puzzle asli
+     */
+    public Board toOriginal(Board state) {
+        if (state == canonical) return original;
+        int[] positions = new int[toCanonicalIndex.length];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = mapPosition(original.getPuzzle(), i, state.getPosition(toCanonicalIndex[i]));
+        }
+        return original.withPositions(positions);
+    }
+
+    // Posisi terbalik adalah pencerminan di lintasan yang sama, sehingga berlaku dua arah
+    private int mapPosition(Puzzle puzzle, int car, int position) {
+        if (!flipped[car]) return position;
+        int span = puzzle.isHorizontal(car) ? puzzle.getCols() : puzzle.getRows();
+        return span - puzzle.getLength(car) - position;
+    }
+
+    /**
+     * Memetakan langkah dari puzzle asli ke puzzle kanonik.
+     */
+    public Move toCanonical(Move move) {
+        int car = indexOf(original.getPuzzle(), move);
+        return canonical.getPuzzle().getMove(toCanonicalIndex[car], flipped[car] ? -move.getDelta() : move.getDelta());
+    }
+
+    /**
+     * Memetakan langkah dari puzzle kanonik kembali ke puzzle asli.
+     */
+    public Move toOriginal(Move move) {
+        int car = toOriginalIndex[indexOf(canonical.getPuzzle(), move)];
+        return original.getPuzzle().getMove(car, flipped[car] ? -move.getDelta() : move.getDelta());
+    }
+
+    private static int indexOf(Puzzle puzzle, Move move) {
+        return move.getCarIndex() >= 0 ? move.getCarIndex() : puzzle.indexOf(move.getCarId());
+    }
+
+    /**
+     * Memetakan solusi dari puzzle asli ke puzzle kanonik.
+     * @param solution Solusi yang dimulai dari state mana pun pada puzzle asli
+     * @return Solusi yang sama pada puzzle kanonik
+     */
+    public Solution toCanonical(Solution solution) {
+        List<Move> moves = new ArrayList<>(solution.length());
+        for (Move move : solution.getMoves()) moves.add(toCanonical(move));
+        return new Solution(toCanonical(solution.getInitialBoard()), moves);
+    }
+
+    /**
+     * Memetakan solusi dari puzzle kanonik kembali ke orientasi dan label asli.
+     * @param solution Solusi yang dimulai dari state mana pun pada puzzle kanonik
+     * @return Solusi yang sama pada puzzle asli
+     */
+    public Solution toOriginal(Solution solution) {
+        List<Move> moves = new ArrayList<>(solution.length());
+        for (Move move : solution.getMoves()) moves.add(toOriginal(move));
+        return new Solution(toOriginal(solution.getInitialBoard()), moves);
+    }
+}
@@ -0,0 +1,594 @@
+package backend.model;
+
+import backend.exception.InvalidInputException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Parser untuk korpus: banyak puzzle dalam satu file, masing-masing dengan format yang
+ * sama seperti file yang dibaca {@link Parser#parse(String)}. Puzzle ditulis berurutan
+ * dan baris kosong di antara puzzle diabaikan. Puzzle yang tidak valid dicatat sebagai
+ * {@link Entry} dengan error, lalu pembacaan dilanjutkan dari baris kosong berikutnya.
+ *
+ * <p>File di-map ke memori dan di-decode sekali. Setiap baris grid dipindai satu kali
+ * langsung dari buffer karakter tanpa regex, stream, atau string per baris; posisi
+ * tiap mobil dirangkum selama pemindaian, sehingga validasi bentuk mobil tidak lagi
+ * kuadratik. Aturan exit (atas, bawah, samping, dan K di dalam grid) serta pesan
+ * {@link InvalidInputException} sama persis dengan parser satu file, yang kini juga
+ * memakai pemindai ini.
+ */
+public final class CorpusParser {
+    private final char[] text;
+    private final int limit;
+    private final int maxCars;
+    private int pos;
+    private int lineNo;
+    private int lineStart, lineEnd;
+
+    // Rangkuman sel per mobil, diindeks slot (urutan pertama kali terlihat)
+    private char[] slotIds = new char[32];
+    private int[] counts = new int[32];
+    private int[] minRows = new int[32], maxRows = new int[32];
+    private int[] minCols = new int[32], maxCols = new int[32];
+    private int slots;
+    // Kapasitas HashMap parser satu file setelah sel yang sama dimasukkan, lihat firstInvalidSlot
+    private int hashCapacity;
+    private final int[] asciiSlot = new int[128];
+    private final Map<Character, Integer> otherSlot = new HashMap<>();
+
+    private char[] grid = new char[128];
+    private int gridCols;
+    private char[] row = new char[16];
+
+    private CorpusParser(CharBuffer chars, int maxCars) {
+        if (maxCars < 1 || maxCars > Puzzle.MAX_VEHICLES) {
+            throw new IllegalArgumentException("Batas jumlah mobil harus antara 1 dan " + Puzzle.MAX_VEHICLES);
+        }
+        this.text = chars.array();
+        this.maxCars = maxCars;
+        this.pos = chars.arrayOffset() + chars.position();
+        this.limit = chars.arrayOffset() + chars.limit();
+        Arrays.fill(asciiSlot, -1);
+    }
+
+    /**
+     * Satu puzzle di dalam korpus: papan hasil parse atau error-nya.
+     */
+    public static final class Entry {
+        private final int index;
+        private final int line;
+        private final Board board;
+        private final InvalidInputException error;
+
+        Entry(int index, int line, Board board, InvalidInputException error) {
+            this.index = index;
+            this.line = line;
+            this.board = board;
+            this.error = error;
+        }
+
+        /** @return Urutan puzzle di korpus, mulai dari 0 */
+        public int getIndex() {
+            return index;
+        }
+
+        /** @return Nomor baris dimensi puzzle, mulai dari 1 */
+        public int getLine() {
+            return line;
+        }
+
+        /** @return Papan awal, atau null jika puzzle tidak valid */
+        public Board getBoard() {
+            return board;
+        }
+
+        /** @return Error parse, atau null jika puzzle valid */
+        public InvalidInputException getError() {
+            return error;
+        }
+
+        public boolean isValid() {
+            return error == null;
+        }
+    }
+
+    /**
+     * Membaca semua puzzle dari file korpus. File di-map ke memori (read-only).
+     * @param file File korpus
+     * @return Puzzle sesuai urutan di file
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public static List<Entry> parse(Path file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        forEach(file, entries::add);
+        return entries;
+    }
+
+    /**
+     * Membaca semua puzzle dari buffer. Posisi buffer tidak diubah.
+     * @param bytes Isi korpus dengan charset default (sama seperti {@link Parser#parse(String)})
+     * @return Puzzle sesuai urutan di buffer
+     */
+    public static List<Entry> parse(ByteBuffer bytes) {
+        List<Entry> entries = new ArrayList<>();
+        forEach(bytes, entries::add);
+        return entries;
+    }
+
+    /**
+     * Membaca puzzle satu per satu dari file korpus tanpa menyimpan semuanya, untuk
+     * korpus yang papannya tidak perlu ditahan sekaligus di memori.
+     * @param file File korpus
+     * @param action Dipanggil untuk setiap puzzle sesuai urutan di file
+     * @return Jumlah puzzle
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public static int forEach(Path file, Consumer<? super Entry> action) throws IOException {
+        return forEach(file, Parser.DEFAULT_MAX_CARS, action);
+    }
+
+    /**
+     * Sama seperti {@link #forEach(Path, Consumer)} dengan batas jumlah mobil sendiri,
+     * misalnya untuk papan besar dengan ratusan mobil.
+     * @param file File korpus
+     * @param maxCars Jumlah mobil maksimal per puzzle, selain P
+     * @param action Dipanggil untuk setiap puzzle sesuai urutan di file
+     * @return Jumlah puzzle
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public static int forEach(Path file, int maxCars, Consumer<? super Entry> action) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File korpus lebih dari 2 GB: " + file);
+            }
+            return forEach(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), maxCars, action);
+        }
+    }
+
+    /**
+     * Membaca puzzle satu per satu dari buffer. Posisi buffer tidak diubah.
+     * @param bytes Isi korpus dengan charset default
+     * @param action Dipanggil untuk setiap puzzle sesuai urutan di buffer
+     * @return Jumlah puzzle
+     */
+    public static int forEach(ByteBuffer bytes, Consumer<? super Entry> action) {
+        return forEach(bytes, Parser.DEFAULT_MAX_CARS, action);
+    }
+
+    /**
+     * Membaca puzzle satu per satu dari buffer dengan batas jumlah mobil sendiri.
+     * @param bytes Isi korpus dengan charset default
+     * @param maxCars Jumlah mobil maksimal per puzzle, selain P
+     * @param action Dipanggil untuk setiap puzzle sesuai urutan di buffer
+     * @return Jumlah puzzle
+     */
+    public static int forEach(ByteBuffer bytes, int maxCars, Consumer<? super Entry> action) {
+        return new CorpusParser(decode(bytes), maxCars).readAll(action);
+    }
+
+    /**
+     * Membaca puzzle pertama dari buffer; baris setelah puzzle diabaikan.
+     */
+    static Board parseFirst(ByteBuffer bytes, int maxCars) throws InvalidInputException {
+        return new CorpusParser(decode(bytes), maxCars).readPuzzle();
+    }
+
+    private static CharBuffer decode(ByteBuffer bytes) {
+        return Charset.defaultCharset().decode(bytes.duplicate());
+    }
+
+    private int readAll(Consumer<? super Entry> action) {
+        int index = 0;
+        while (skipBlankLines()) {
+            int start = pos;
+            int startLine = lineNo;
+            InvalidInputException error;
+            try {
+                Board board = readPuzzle();
+                action.accept(new Entry(index++, startLine + 1, board, null));
+                continue;
+            } catch (InvalidInputException e) {
+                error = e;
+            } catch (RuntimeException e) {
+                // Misalnya angka dimensi di luar int atau id mobil di luar A-Z
+                error = new InvalidInputException(
+                    e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage(), e);
+            }
+            action.accept(new Entry(index++, startLine + 1, null, error));
+            pos = start;
+            lineNo = startLine;
+            while (nextLine() && !isBlankLine()) {
+                // lewati sisa puzzle yang rusak
+            }
+        }
+        return index;
+    }
+
+    private Board readPuzzle() throws InvalidInputException {
+        resetSlots();
+
+        // 1) Baca dimensi
+        if (!nextLine()) throw new InvalidInputException("File kosong");
+        int s = lineStart, e = lineEnd;
+        while (s < e && text[s] <= ' ') s++;
+        while (e > s && text[e - 1] <= ' ') e--;
+        int[] bounds = new int[4];
+        int tokens = 0;
+        for (int i = s; i < e; ) {
+            if (isRegexSpace(text[i])) {
+                i++;
+                continue;
+            }
+            int from = i;
+            while (i < e && !isRegexSpace(text[i])) i++;
+            if (tokens < 2) {
+                bounds[2 * tokens] = from;
+                bounds[2 * tokens + 1] = i;
+            }
+            tokens++;
+        }
+        if (tokens != 2)
+            throw new InvalidInputException("Baris dimensi harus berisi 2 angka");
+        int rows = Integer.parseInt(new String(text, bounds[0], bounds[1] - bounds[0]));
+        int cols = Integer.parseInt(new String(text, bounds[2], bounds[3] - bounds[2]));
+        gridCols = cols;
+
+        // 2) Validasi jumlah Car
+        if (!nextLine()) throw new InvalidInputException("Tidak ada baris jumlah mobil");
+        s = lineStart;
+        e = lineEnd;
+        while (s < e && text[s] <= ' ') s++;
+        while (e > s && text[e - 1] <= ' ') e--;
+        boolean digits = s < e;
+        for (int i = s; i < e && digits; i++) {
+            digits = text[i] >= '0' && text[i] <= '9';
+        }
+        if (!digits) {
+            throw new InvalidInputException("Baris kedua harus angka jumlah mobil");
+        }
+        int declaredCars = Integer.parseInt(new String(text, s, e - s));
+        if (declaredCars < 1 || declaredCars > maxCars) {
+            throw new InvalidInputException(
+                "Jumlah mobil harus antara 1 dan " + maxCars + ", ditemukan: " + declaredCars);
+        }
+
+        // 3) Cek exit di atas (baris dengan <=cols char, tepat satu 'K')
+        int exitRow = Integer.MIN_VALUE, exitCol = -1;
+        int markPos = pos, markLine = lineNo;
+        if (nextLine() && isExitLine(cols)) {
+            exitRow = -1;
+            exitCol = indexOfK();
+        } else {
+            pos = markPos;
+            lineNo = markLine;
+        }
+
+        // 4) Baca rows baris grid (dengan kemungkinan exit samping) sambil merangkum sel tiap mobil
+        for (int r = 0; r < rows; r++) {
+            if (!nextLine())
+                throw new InvalidInputException("Grid kurang dari " + rows + " baris");
+
+            // hilangkan whitespace internal; lebih dari cols+1 karakter pasti salah panjang
+            int n = 0, countK = 0, kIdx = -1;
+            for (int i = lineStart; i < lineEnd; i++) {
+                char ch = text[i];
+                if (isRegexSpace(ch)) continue;
+                if (n > cols) {
+                    n++;
+                    break;
+                }
+                if (ch == 'K' && countK++ == 0) kIdx = n;
+                if (n == row.length) row = Arrays.copyOf(row, 2 * n);
+                row[n++] = ch;
+            }
+
+            int offset;
+            if (n == cols) {
+                // K di dalam grid
+                if (countK > 0) {
+                    if (countK != 1) {
+                        throw new InvalidInputException("Grid harus mengandung tepat satu 'K'");
+                    }
+                    exitRow = r;
+                    exitCol = kIdx;
+                    row[kIdx] = '.';
+                }
+                offset = 0;
+            } else if (n == cols + 1) {
+                // exit samping: satu K di tepi
+                if (countK != 1)
+                    throw new InvalidInputException(
+                        "Baris grid ke-" + (r + 1) + " ekstra harus tepat satu 'K'");
+                if (kIdx == 0) {
+                    exitRow = r;
+                    exitCol = -1;
+                    offset = 1;
+                } else if (kIdx == cols) {
+                    exitRow = r;
+                    exitCol = cols;
+                    offset = 0;
+                } else {
+                    throw new InvalidInputException(
+                        "Baris grid ke-" + (r + 1) + " ekstra 'K' harus di tepi");
+                }
+            } else {
+                throw new InvalidInputException(
+                    "Panjang baris grid ke-" + (r + 1) +
+                    " harus " + cols + " atau " + (cols + 1));
+            }
+
+            int base = r * cols;
+            if (base + cols > grid.length) grid = Arrays.copyOf(grid, Math.max(2 * grid.length, base + cols));
+            for (int c = 0; c < cols; c++) {
+                char ch = row[offset + c];
+                grid[base + c] = ch;
+                if (ch != '.' && ch != 'K') record(ch, r, c);
+            }
+        }
+
+        // 5) Cek exit di bawah (baris dengan <=cols char, tepat satu 'K')
+        markPos = pos;
+        markLine = lineNo;
+        if (nextLine() && isExitLine(cols)) {
+            exitRow = rows;
+            exitCol = indexOfK();
+        } else {
+            pos = markPos;
+            lineNo = markLine;
+        }
+
+        // 6) Validasi exit ditemukan
+        if (exitRow == Integer.MIN_VALUE) {
+            throw new InvalidInputException(
+                "Tidak ditemukan exit 'K' di atas, samping, atau bawah");
+        }
+        if (rows < 0 || cols < 0) {
+            throw new InvalidInputException("Dimensi papan tidak valid: " + rows + " x " + cols);
+        }
+        if ((long) rows * cols > 64 && (rows > Puzzle.MAX_LARGE_SIDE || cols > Puzzle.MAX_LARGE_SIDE)) {
+            throw new InvalidInputException("Papan lebih dari 64 sel maksimal " + Puzzle.MAX_LARGE_SIDE + "x"
+                + Puzzle.MAX_LARGE_SIDE + ", ditemukan: " + rows + "x" + cols);
+        }
+
+        // 7) Validasi bentuk mobil, dengan urutan laporan error yang sama seperti parser satu file
+        for (int slot = 0; slot < slots; slot++) {
+            if (!isStraightLine(slot)) {
+                throw carError(firstInvalidSlot());
+            }
+        }
+
+        // 8) Bangun daftar Car
+        List<Car> cars = new ArrayList<>(slots);
+        int player = -1;
+        for (int slot = 0; slot < slots; slot++) {
+            cars.add(new Car(slotIds[slot], minRows[slot] == maxRows[slot], counts[slot],
+                minRows[slot], minCols[slot]));
+            if (slotIds[slot] == 'P') player = slot;
+        }
+
+        if (slots - (player >= 0 ? 1 : 0) != declaredCars) {
+            throw new InvalidInputException(
+                "Jumlah mobil terdeteksi (" + (slots - 1) +
+                ") tidak sesuai deklarasi (" + declaredCars + ")");
+        }
+
+        // 8.5) Validasi exit sejajar dengan mobil player (P)
+        if (player < 0) {
+            throw new InvalidInputException("Mobil pemain (P) tidak ditemukan");
+        }
+        Car playerCar = cars.get(player);
+        boolean exitAligned = playerCar.isHorizontal()
+            ? exitRow == playerCar.getRow()
+            : exitCol == playerCar.getCol();
+        if (!exitAligned) {
+            throw new InvalidInputException(
+                "Pintu keluar (K) harus sejajar dengan mobil pemain (P): " +
+                (playerCar.isHorizontal() ? "horizontal" : "vertikal"));
+        }
+
+        // 9) Bangun Board; tabel Zobrist dipakai bersama oleh puzzle berukuran sama
+        return new Board(rows, cols, cars, exitRow, exitCol);
+    }
+
+    /**
+     * Membaca baris berikutnya seperti {@link java.io.BufferedReader#readLine()}:
+     * baris diakhiri {@code \n}, {@code \r}, atau {@code \r\n}.
+     * @return false jika sudah di akhir buffer
+     */
+    private boolean nextLine() {
+        if (pos >= limit) return false;
+        int i = pos;
+        while (i < limit && text[i] != '\n' && text[i] != '\r') i++;
+        lineStart = pos;
+        lineEnd = i;
+        if (i < limit) {
+            if (text[i] == '\r' && i + 1 < limit && text[i + 1] == '\n') i++;
+            i++;
+        }
+        pos = i;
+        lineNo++;
+        return true;
+    }
+
+    /**
+     * Melewati baris kosong.
+     * @return true jika masih ada baris tidak kosong
+     */
+    private boolean skipBlankLines() {
+        while (true) {
+            int markPos = pos, markLine = lineNo;
+            if (!nextLine()) return false;
+            if (!isBlankLine()) {
+                pos = markPos;
+                lineNo = markLine;
+                return true;
+            }
+        }
+    }
+
+    private boolean isBlankLine() {
+        for (int i = lineStart; i < lineEnd; i++) {
+            if (!Character.isWhitespace(text[i])) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Baris exit atas/bawah: paling banyak cols karakter mentah, tepat satu 'K',
+     * selebihnya '.' atau whitespace.
+     */
+    private boolean isExitLine(int cols) {
+        if (lineEnd - lineStart > cols) return false;
+        int countK = 0;
+        for (int i = lineStart; i < lineEnd; i++) {
+            char ch = text[i];
+            if (ch == 'K') countK++;
+            else if (ch != '.' && !Character.isWhitespace(ch)) return false;
+        }
+        return countK == 1;
+    }
+
+    private int indexOfK() {
+        for (int i = lineStart; i < lineEnd; i++) {
+            if (text[i] == 'K') return i - lineStart;
+        }
+        return -1;
+    }
+
+    // Whitespace menurut regex \s: [ \t\n\x0B\f\r]
+    private static boolean isRegexSpace(char ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000B' || ch == '\f' || ch == '\r';
+    }
+
+    private void resetSlots() {
+        for (int slot = 0; slot < slots; slot++) {
+            if (slotIds[slot] < asciiSlot.length) asciiSlot[slotIds[slot]] = -1;
+        }
+        otherSlot.clear();
+        slots = 0;
+        hashCapacity = 16;
+    }
+
+    private void record(char id, int r, int c) {
+        // computeIfAbsent memperbesar tabel di awal pemanggilan berikutnya setelah size > 0.75 * kapasitas
+        if (slots > hashCapacity * 3 / 4) hashCapacity <<= 1;
+        int slot;
+        if (id < asciiSlot.length) {
+            slot = asciiSlot[id];
+            if (slot < 0) slot = asciiSlot[id] = newSlot(id);
+        } else {
+            Integer existing = otherSlot.get(id);
+            slot = existing != null ? existing : newSlot(id);
+            if (existing == null) otherSlot.put(id, slot);
+        }
+        counts[slot]++;
+        minRows[slot] = Math.min(minRows[slot], r);
+        maxRows[slot] = Math.max(maxRows[slot], r);
+        minCols[slot] = Math.min(minCols[slot], c);
+        maxCols[slot] = Math.max(maxCols[slot], c);
+    }
+
+    private int newSlot(char id) {
+        if (slots == slotIds.length) {
+            int size = 2 * slots;
+            slotIds = Arrays.copyOf(slotIds, size);
+            counts = Arrays.copyOf(counts, size);
+            minRows = Arrays.copyOf(minRows, size);
+            maxRows = Arrays.copyOf(maxRows, size);
+            minCols = Arrays.copyOf(minCols, size);
+            maxCols = Arrays.copyOf(maxCols, size);
+        }
+        int slot = slots++;
+        slotIds[slot] = id;
+        counts[slot] = 0;
+        minRows[slot] = minCols[slot] = Integer.MAX_VALUE;
+        maxRows[slot] = maxCols[slot] = Integer.MIN_VALUE;
+        return slot;
+    }
+
+    /**
+     * Mobil valid tepat jika selnya membentuk satu garis lurus tanpa celah dengan panjang
+     * minimal 2; sel unik sehingga cukup dibandingkan dengan rentang baris/kolomnya.
+     */
+    private boolean isStraightLine(int slot) {
+        int n = counts[slot];
+        if (n < 2) return false;
+        return minRows[slot] == maxRows[slot] && maxCols[slot] - minCols[slot] + 1 == n
+            || minCols[slot] == maxCols[slot] && maxRows[slot] - minRows[slot] + 1 == n;
+    }
+
+    /**
+     * Parser satu file memvalidasi mobil dalam urutan iterasi {@code HashMap<Character, ...>}
+     * yang diisi dengan {@code computeIfAbsent} per sel; urutan itu ditiru di sini. Bucket
+     * {@code id & (kapasitas - 1)} dikunjungi berurutan, dan di dalam satu bucket key yang
+     * terakhir dimasukkan berada di depan ({@code computeIfAbsent} menyisipkan di kepala list).
+     */
+    private int firstInvalidSlot() {
+        int mask = hashCapacity - 1;
+        int best = -1;
+        for (int slot = 0; slot < slots; slot++) {
+            if (isStraightLine(slot)) continue;
+            if (best < 0 || (slotIds[slot] & mask) <= (slotIds[best] & mask)) best = slot;
+        }
+        return best;
+    }
+
+    /**
+     * Menyusun pesan error mobil yang tidak valid. Komponen dihitung secara greedy
+     * dalam urutan baris seperti parser satu file, sehingga jumlah "lokasi terpisah"
+     * pada pesan juga sama.
+     */
+    private InvalidInputException carError(int slot) {
+        char id = slotIds[slot];
+        int n = counts[slot];
+        int[] rs = new int[n], cs = new int[n];
+        for (int r = minRows[slot], k = 0; r <= maxRows[slot] && k < n; r++) {
+            for (int c = minCols[slot]; c <= maxCols[slot]; c++) {
+                if (grid[r * gridCols + c] == id) {
+                    rs[k] = r;
+                    cs[k++] = c;
+                }
+            }
+        }
+
+        int[] component = new int[n];
+        int components = 0;
+        for (int k = 0; k < n; k++) {
+            component[k] = -1;
+            for (int g = 0; g < components && component[k] < 0; g++) {
+                for (int j = 0; j < k; j++) {
+                    if (component[j] == g && isAdjacent(rs[j], cs[j], rs[k], cs[k])) {
+                        component[k] = g;
+                        break;
+                    }
+                }
+            }
+            if (component[k] < 0) component[k] = components++;
+        }
+
+        if (components > 1) {
+            return new InvalidInputException(
+                "Mobil " + id + " terdeteksi di " + components + " lokasi terpisah.");
+        }
+        if (n == 1) {
+            return new InvalidInputException("Mobil " + id + " berukuran 1x1 tidak diperbolehkan");
+        }
+        if (minRows[slot] != maxRows[slot] && minCols[slot] != maxCols[slot]) {
+            return new InvalidInputException("Mobil " + id + " tidak membentuk garis lurus.");
+        }
+        return new InvalidInputException("Mobil " + id + " terputus");
+    }
+
+    private static boolean isAdjacent(int r1, int c1, int r2, int c2) {
+        return (Math.abs(r1 - r2) == 1 && c1 == c2) || (Math.abs(c1 - c2) == 1 && r1 == r2);
+    }
+}
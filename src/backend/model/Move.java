@@ -3,16 +3,30 @@ package backend.model;
 public class Move {
     private final char carId;
     private final int delta;
+    private final int carIndex;
 
     public Move(char carId, int delta) {
+        this(carId, delta, -1);
+    }
+
+    Move(char carId, int delta, int carIndex) {
         this.carId = carId;
         this.delta = delta;
+        this.carIndex = carIndex;
     }
 
     public char getCarId() {
         return carId;
     }
 
+    /**
+     * Mendapatkan indeks mobil yang digeser di {@link Puzzle}-nya.
+     * @return Indeks mobil, atau -1 jika langkah tidak dibuat oleh puzzle
+     */
+    public int getCarIndex() {
+        return carIndex;
+    }
+
     public int getDelta() {
         return delta;
     }
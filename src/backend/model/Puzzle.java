@@ -0,0 +1,366 @@
+package backend.model;
+
+import java.util.*;
+
+/**
+ * Metadata statis sebuah puzzle, dipakai bersama oleh semua state {@link Board}
+ * turunannya. Atribut mobil (id, orientasi, panjang, lintasan) disimpan sekali di
+ * sini; state papan hanya membawa posisi tiap mobil di sumbu geraknya.
+ */
+public final class Puzzle {
+    /**
+     * Sisi terpanjang papan dengan lebih dari 64 sel. Papan seperti itu mencatat
+     * okupansi dengan satu mask 32-bit per baris dan per kolom.
+     */
+    public static final int MAX_LARGE_SIDE = 32;
+    /** Jumlah mobil terbanyak dalam satu puzzle. */
+    public static final int MAX_VEHICLES = Short.MAX_VALUE;
+
+    private final int rows;
+    private final int cols;
+    private final int exitRow, exitCol;
+    private final int words;
+    // zobristKeys[i * rows * cols + sel] = key Zobrist mobil ke-i pada sel tersebut
+    private final long[] zobristKeys;
+
+    private final char[] ids;
+    private final boolean[] horizontal;
+    private final int[] lengths;
+    private final int[] lanes;
+    private final int playerIndex;
+    private final int goalPosition;
+
+    // laneCells[i][q] = indeks sel ke-q pada lintasan mobil i
+    private final int[][] laneCells;
+
+    // positionKeys[i][p] = XOR Zobrist seluruh sel mobil i pada posisi p
+    private final long[][] positionKeys;
+
+    // positionMasks[i][p] = bitmask sel mobil i pada posisi p (papan <= 64 sel)
+    private final long[][] positionMasks;
+
+    // laneMasks[p] = sel-sel di antara ujung depan P (pada posisi p) dan exit
+    private final long[][] laneMasks;
+
+    // moves[i][delta + maxDelta] = objek Move bersama, agar tidak dialokasikan per node
+    private final Move[][] moves;
+
+    // indexById[id] = indeks mobil untuk id ASCII, -1 jika tidak ada
+    private final int[] indexById = new int[128];
+
+    Puzzle(int rows, int cols, List<Car> cars, int exitRow, int exitCol) {
+        if (rows * cols > 64 && (rows > MAX_LARGE_SIDE || cols > MAX_LARGE_SIDE)) {
+            throw new IllegalArgumentException("Papan lebih dari 64 sel maksimal " + MAX_LARGE_SIDE + "x"
+                + MAX_LARGE_SIDE + ", ditemukan: " + rows + "x" + cols);
+        }
+        if (cars.size() > MAX_VEHICLES) {
+            throw new IllegalArgumentException("Jumlah mobil maksimal " + MAX_VEHICLES + ", ditemukan: " + cars.size());
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.exitRow = exitRow;
+        this.exitCol = exitCol;
+        this.zobristKeys = Zobrist.table(rows, cols, cars.size());
+        this.words = Math.max(1, (rows * cols + 63) >>> 6);
+
+        List<Car> sorted = new ArrayList<>(cars);
+        sorted.sort(Comparator.comparingInt(Car::getId));
+
+        int n = sorted.size();
+        this.ids = new char[n];
+        this.horizontal = new boolean[n];
+        this.lengths = new int[n];
+        this.lanes = new int[n];
+        this.laneCells = new int[n][];
+        this.positionKeys = new long[n][];
+        this.positionMasks = new long[n][];
+        this.moves = new Move[n][];
+        Arrays.fill(indexById, -1);
+        int player = -1;
+        for (int i = 0; i < n; i++) {
+            Car c = sorted.get(i);
+            ids[i] = c.getId();
+            horizontal[i] = c.isHorizontal();
+            lengths[i] = c.getLength();
+            lanes[i] = c.isHorizontal() ? c.getRow() : c.getCol();
+            if (c.isPrimary()) player = i;
+            if (ids[i] < indexById.length) indexById[ids[i]] = i;
+
+            int span = c.isHorizontal() ? cols : rows;
+            laneCells[i] = new int[span];
+            for (int q = 0; q < span; q++) {
+                laneCells[i][q] = c.isHorizontal() ? cellIndex(lanes[i], q) : cellIndex(q, lanes[i]);
+            }
+
+            positionKeys[i] = new long[span - lengths[i] + 1];
+            positionMasks[i] = new long[span - lengths[i] + 1];
+            for (int p = 0; p < positionKeys[i].length; p++) {
+                for (int k = 0; k < lengths[i]; k++) {
+                    int cell = laneCells[i][p + k];
+                    positionKeys[i][p] ^= zobristKeys[i * rows * cols + cell];
+                    positionMasks[i][p] |= 1L << cell;
+                }
+            }
+
+            int maxDelta = span - lengths[i];
+            moves[i] = new Move[2 * maxDelta + 1];
+            for (int d = -maxDelta; d <= maxDelta; d++) {
+                moves[i][d + maxDelta] = new Move(ids[i], d, i);
+            }
+        }
+        this.playerIndex = player;
+        this.goalPosition = player < 0 ? Integer.MIN_VALUE : computeGoalPosition(player);
+        this.laneMasks = player < 0 ? new long[0][] : computeLaneMasks(player);
+    }
+
+    private int computeGoalPosition(int player) {
+        int len = lengths[player];
+        if (horizontal[player]) {
+            if (lanes[player] != exitRow) return Integer.MIN_VALUE;
+            return exitCol < 0 ? exitCol + 1 : exitCol - len;
+        } else {
+            if (lanes[player] != exitCol) return Integer.MIN_VALUE;
+            return exitRow < 0 ? exitRow + 1 : exitRow - len;
+        }
+    }
+
+    private long[][] computeLaneMasks(int player) {
+        int len = lengths[player];
+        int span = horizontal[player] ? cols : rows;
+        int exit = horizontal[player] ? exitCol : exitRow;
+        long[][] masks = new long[span - len + 1][];
+
+        for (int p = 0; p < masks.length; p++) {
+            long[] mask = new long[words];
+            int from, to;
+            if (exit > p + len - 1) {
+                from = p + len;
+                to = Math.min(exit, span - 1);
+            } else {
+                from = Math.max(exit, 0);
+                to = p - 1;
+            }
+            for (int k = from; k <= to; k++) {
+                int cell = laneCells[player][k];
+                mask[cell >>> 6] |= 1L << (cell & 63);
+            }
+            masks[p] = mask;
+        }
+        return masks;
+    }
+
+    int cellIndex(int row, int col) {
+        return row * cols + col;
+    }
+
+    /**
+     * Mendapatkan indeks sel ke-i dari mobil pada posisi tertentu.
+     */
+    int cellOf(int car, int position, int offset) {
+        return laneCells[car][position + offset];
+    }
+
+    /**
+     * Mendapatkan indeks sel di sepanjang lintasan mobil, diindeks menurut posisi.
+     */
+    int[] laneCells(int car) {
+        return laneCells[car];
+    }
+
+    /**
+     * Mendapatkan garis okupansi sepanjang lintasan mobil pada papan lebih dari 64 sel:
+     * garis {@code 0..rows-1} adalah mask baris (bit = kolom) dan garis
+     * {@code rows..rows+cols-1} adalah mask kolom (bit = baris).
+     */
+    int lineOf(int car) {
+        return horizontal[car] ? lanes[car] : rows + lanes[car];
+    }
+
+    /**
+     * Mendapatkan offset garis yang memotong lintasan mobil: mask kolom untuk mobil
+     * horizontal, mask baris untuk mobil vertikal.
+     */
+    int crossLineOffset(int car) {
+        return horizontal[car] ? rows : 0;
+    }
+
+    /**
+     * Mendapatkan gabungan Zobrist key semua sel mobil pada posisi tertentu.
+     */
+    long positionKey(int car, int position) {
+        return positionKeys[car][position];
+    }
+
+    /**
+     * Mendapatkan mask okupansi mobil pada posisi tertentu. Hanya berlaku untuk
+     * papan dengan satu word okupansi.
+     */
+    long positionMask(int car, int position) {
+        return positionMasks[car][position];
+    }
+
+    /**
+     * Mendapatkan instance {@link Move} bersama untuk sebuah mobil dan pergeseran.
+     * @param car Indeks mobil
+     * @param delta Pergeseran sepanjang lintasan
+     * @return Objek langkah
+     */
+    public Move getMove(int car, int delta) {
+        return moves[car][delta + (moves[car].length >> 1)];
+    }
+
+    /**
+     * Mendapatkan mask okupansi mobil pada posisi tertentu. Hanya valid jika
+     * {@link #getWordCount()} bernilai 1.
+     * @param car Indeks mobil
+     * @param position Posisi sepanjang lintasan
+     * @return Mask sel yang ditempati mobil
+     */
+    public long getPositionMask(int car, int position) {
+        return positionMasks[car][position];
+    }
+
+    int rowOf(int car, int position) {
+        return horizontal[car] ? lanes[car] : position;
+    }
+
+    int colOf(int car, int position) {
+        return horizontal[car] ? position : lanes[car];
+    }
+
+    /**
+     * Mendapatkan jumlah baris puzzle.
+     * @return Jumlah baris
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Mendapatkan jumlah kolom puzzle.
+     * @return Jumlah kolom
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    public int getExitRow() {
+        return exitRow;
+    }
+
+    public int getExitCol() {
+        return exitCol;
+    }
+
+    /**
+     * Mendapatkan jumlah word 64-bit pada bitmask okupansi.
+     * @return 1 untuk papan hingga 64 sel, lebih untuk papan yang lebih besar
+     */
+    public int getWordCount() {
+        return words;
+    }
+
+    /**
+     * Mendapatkan tabel Zobrist bersama: satu key per indeks mobil dan sel, diindeks
+     * {@code car * rows * cols + cell}. Array ini dipakai bersama oleh semua puzzle dengan
+     * ukuran dan jumlah mobil yang sama dan tidak boleh diubah.
+     * @return Tabel Zobrist datar
+     */
+    public long[] getZobristTable() {
+        return zobristKeys;
+    }
+
+    /**
+     * Mendapatkan fingerprint 64-bit dari struktur puzzle: dimensi, exit serta id,
+     * orientasi, panjang dan lintasan tiap mobil, tetapi bukan posisinya. Semua state
+     * dari satu puzzle memiliki fingerprint yang sama.
+     * @return Fingerprint struktur
+     */
+    public long getFingerprint() {
+        long h = 0xcbf29ce484222325L;
+        h = mix(h, rows);
+        h = mix(h, cols);
+        h = mix(h, exitRow);
+        h = mix(h, exitCol);
+        for (int i = 0; i < ids.length; i++) {
+            h = mix(h, ids[i]);
+            h = mix(h, horizontal[i] ? 1 : 0);
+            h = mix(h, lengths[i]);
+            h = mix(h, lanes[i]);
+        }
+        return h;
+    }
+
+    private static long mix(long h, int value) {
+        h ^= value;
+        h *= 0x100000001b3L;
+        return h ^ (h >>> 29);
+    }
+
+    /**
+     * Mendapatkan jumlah mobil, termasuk mobil utama.
+     * @return Jumlah mobil
+     */
+    public int getCarCount() {
+        return ids.length;
+    }
+
+    public char getId(int car) {
+        return ids[car];
+    }
+
+    public boolean isHorizontal(int car) {
+        return horizontal[car];
+    }
+
+    public int getLength(int car) {
+        return lengths[car];
+    }
+
+    /**
+     * Mendapatkan koordinat tetap mobil: baris jika horizontal, kolom jika vertikal.
+     * @param car Indeks mobil
+     * @return Lintasan mobil
+     */
+    public int getLane(int car) {
+        return lanes[car];
+    }
+
+    /**
+     * Mendapatkan indeks mobil dari id-nya.
+     * @param id Id mobil
+     * @return Indeks mobil, atau -1 jika tidak ada
+     */
+    public int indexOf(char id) {
+        if (id < indexById.length) return indexById[id];
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Mendapatkan indeks mobil utama 'P'.
+     * @return Indeks P, atau -1 jika puzzle tidak memilikinya
+     */
+    public int getPlayerIndex() {
+        return playerIndex;
+    }
+
+    /**
+     * Mendapatkan posisi P saat puzzle selesai.
+     * @return Posisi goal, atau {@code Integer.MIN_VALUE} jika P tidak segaris dengan exit
+     */
+    public int getGoalPosition() {
+        return goalPosition;
+    }
+
+    /**
+     * Mendapatkan mask sel antara bagian depan P dan exit.
+     * @param playerPosition Posisi P di lintasannya
+     * @return Mask okupansi sepanjang {@link #getWordCount()} word
+     */
+    public long[] getExitLaneMask(int playerPosition) {
+        return laneMasks[playerPosition];
+    }
+}
@@ -0,0 +1,151 @@
+package backend.model;
+
+import java.util.*;
+
+/**
+ * Solusi yang disimpan sebagai papan awal ditambah urutan langkah. Papan dibangun saat
+ * dibutuhkan dengan memutar ulang langkah dari checkpoint terdekat; setiap papan ke-
+ * {@link #CHECKPOINT_INTERVAL} disimpan setelah dibangun, dan papan terakhir yang
+ * dibangun diingat sehingga maju satu langkah hanya butuh satu langkah.
+ */
+public final class Solution {
+    public static final int CHECKPOINT_INTERVAL = 32;
+
+    private final Board initialBoard;
+    private final List<Move> moves;
+    private final Board[] checkpoints;
+    private volatile Cursor last;
+
+    /**
+     * @param initialBoard Papan awal
+     * @param moves Langkah dari papan awal sampai goal
+     */
+    public Solution(Board initialBoard, List<Move> moves) {
+        this.initialBoard = Objects.requireNonNull(initialBoard);
+        this.moves = List.copyOf(moves);
+        this.checkpoints = new Board[this.moves.size() / CHECKPOINT_INTERVAL + 1];
+        this.checkpoints[0] = initialBoard;
+        this.last = new Cursor(0, initialBoard);
+    }
+
+    /**
+     * Membangun solusi dari papan-papan berurutan. Setiap papan harus berbeda dari
+     * papan sebelumnya pada posisi tepat satu mobil.
+     * @param boards Urutan papan, tidak kosong
+     * @return Solusi
+     * @throws IllegalArgumentException jika dua papan berurutan tidak berjarak satu langkah
+     */
+    public static Solution fromBoards(List<Board> boards) {
+        if (boards.isEmpty()) {
+            throw new IllegalArgumentException("Daftar papan kosong");
+        }
+        List<Move> moves = new ArrayList<>(boards.size() - 1);
+        for (int i = 1; i < boards.size(); i++) {
+            moves.add(moveBetween(boards.get(i - 1), boards.get(i)));
+        }
+        return new Solution(boards.get(0), moves);
+    }
+
+    private static Move moveBetween(Board before, Board after) {
+        Move last = after.getLastMove();
+        if (last != null && before.apply(last).getZobristKey() == after.getZobristKey()) {
+            return last;
+        }
+        Puzzle puzzle = before.getPuzzle();
+        Move move = null;
+        for (int i = 0; i < puzzle.getCarCount(); i++) {
+            int delta = after.getPosition(i) - before.getPosition(i);
+            if (delta == 0) continue;
+            if (move != null) {
+                throw new IllegalArgumentException("Lebih dari satu mobil bergerak dalam satu langkah");
+            }
+            move = puzzle.getMove(i, delta);
+        }
+        if (move == null) {
+            throw new IllegalArgumentException("Tidak ada mobil yang bergerak dalam satu langkah");
+        }
+        return move;
+    }
+
+    public Board getInitialBoard() {
+        return initialBoard;
+    }
+
+    /**
+     * Mendapatkan langkah-langkah solusi.
+     * @return Daftar langkah yang tidak dapat diubah
+     */
+    public List<Move> getMoves() {
+        return moves;
+    }
+
+    /**
+     * Mendapatkan jumlah langkah.
+     * @return Jumlah langkah
+     */
+    public int length() {
+        return moves.size();
+    }
+
+    /**
+     * Mendapatkan papan setelah sejumlah langkah.
+     * @param step Jumlah langkah yang diterapkan, dari 0 sampai {@link #length()}
+     * @return Papan pada langkah tersebut
+     */
+    public Board getBoard(int step) {
+        if (step < 0 || step > moves.size()) {
+            throw new IndexOutOfBoundsException("Langkah " + step + " di luar 0.." + moves.size());
+        }
+        Cursor cursor = last;
+        int at = cursor.step;
+        Board board = cursor.board;
+        if (at > step || step - at > step % CHECKPOINT_INTERVAL) {
+            // Mulai dari checkpoint terdekat di belakang step; checkpoint yang terlewati ikut dibangun
+            int c = step / CHECKPOINT_INTERVAL;
+            while (checkpoints[c] == null) c--;
+            board = checkpoints[c];
+            at = c * CHECKPOINT_INTERVAL;
+        }
+        while (at < step) {
+            board = board.apply(moves.get(at++));
+            if (at % CHECKPOINT_INTERVAL == 0) checkpoints[at / CHECKPOINT_INTERVAL] = board;
+        }
+        last = new Cursor(at, board);
+        return board;
+    }
+
+    public Board getFinalBoard() {
+        return getBoard(moves.size());
+    }
+
+    /**
+     * Mendapatkan tampilan read-only papan dari papan awal sampai goal. Papan dibangun
+     * oleh {@link #getBoard(int)} saat diakses.
+     * @return Daftar berisi {@link #length()} + 1 papan
+     */
+    public List<Board> boards() {
+        return new BoardList();
+    }
+
+    private static final class Cursor {
+        final int step;
+        final Board board;
+
+        Cursor(int step, Board board) {
+            this.step = step;
+            this.board = board;
+        }
+    }
+
+    private final class BoardList extends AbstractList<Board> implements RandomAccess {
+        @Override
+        public Board get(int index) {
+            return getBoard(index);
+        }
+
+        @Override
+        public int size() {
+            return moves.size() + 1;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package backend.model;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache key Zobrist untuk seluruh proses. Satu tabel menyimpan satu key per pasangan
+ * (mobil, sel) dalam array datar berindeks {@code vehicle * rows * cols + cell}, dengan
+ * mobil berupa indeks rapatnya di {@link Puzzle}, sehingga jumlah mobil dan karakter id
+ * berapa pun dapat di-hash. Tabel dibangkitkan sekali per (rows, cols, jumlah mobil) dari
+ * seed tetap, sehingga key identik antar-eksekusi dan key yang disimpan tetap valid.
+ */
+final class Zobrist {
+    private static final ConcurrentHashMap<Long, long[]> TABLES = new ConcurrentHashMap<>();
+
+    private Zobrist() {
+    }
+
+    /**
+     * Mendapatkan tabel bersama untuk ukuran papan dan jumlah mobil. Array tidak boleh diubah.
+     * @param rows Jumlah baris
+     * @param cols Jumlah kolom
+     * @param vehicles Jumlah mobil
+     * @return Tabel berisi {@code vehicles * rows * cols} key
+     */
+    static long[] table(int rows, int cols, int vehicles) {
+        if (rows < 0 || cols < 0 || vehicles < 0 || rows >= 1 << 21 || cols >= 1 << 21 || vehicles >= 1 << 21) {
+            throw new IllegalArgumentException(
+                "Ukuran tabel Zobrist tidak valid: " + rows + " x " + cols + ", " + vehicles + " mobil");
+        }
+        long key = (long) rows << 42 | (long) cols << 21 | vehicles;
+        return TABLES.computeIfAbsent(key, k -> generate(Math.multiplyExact(Math.multiplyExact(rows, cols), vehicles)));
+    }
+
+    private static long[] generate(int size) {
+        Random rnd = new Random(0);
+        long[] table = new long[size];
+        for (int i = 0; i < size; i++) {
+            table[i] = rnd.nextLong();
+        }
+        return table;
+    }
+}
@@ -1,55 +1,38 @@
 package backend.util;
 
 import backend.model.Board;
-import backend.model.Car;
+import backend.model.Move;
+import backend.model.Puzzle;
 
-public class HeuristicBlocking implements Heuristic {
+public class HeuristicBlocking implements IncrementalHeuristic {
     @Override
     public int estimate(Board board) {
-        // Dapatkan posisi mobil utama 'P'
-        Car player = board.getCar('P');
-        return countBlocking(board, player);  // Menghitung jumlah mobil yang menghalangi
-    }
-
-    private int countBlocking(Board board, Car player) {
-        int count = 0;
-        int primRow = player.getRow();
-        int primEndCol = player.getCol() + player.getLength() - 1;
-        int exitRow = board.getExitRow();
-        int exitCol = board.getExitCol();
-
-        // Jika mobil utama bergerak horizontal (exit horizontal)
-        if (player.isHorizontal()) {
-            for (Car car : board.getCars()) {
-                if (car.isPrimary()) continue;
+        Puzzle puzzle = board.getPuzzle();
+        int player = puzzle.getPlayerIndex();
 
-                if (car.isVertical() && car.getRow() <= primRow &&
-                        car.getRow() + car.getLength() - 1 >= primRow) {
-                    if (exitCol > primEndCol && car.getCol() > primEndCol && car.getCol() <= exitCol) {
-                        count++;
-                    } else if (exitCol < player.getCol() && car.getCol() < player.getCol() && car.getCol() >= exitCol) {
-                        count++;  
-                    }
-                }
-            }
-        }
-        // Jika mobil utama bergerak vertikal (exit vertikal)
-        else {
-            for (Car car : board.getCars()) {
-                if (car.isPrimary()) continue;
+        // Mobil yang menghalangi = sel terisi di antara ujung depan P dan exit.
+        // Setiap mobil yang memotong jalur P menempati tepat satu sel jalur.
+        long[] lane = puzzle.getExitLaneMask(board.getPosition(player));
+        return board.countOccupied(lane);
+    }
 
-                if (!car.isVertical() && car.getCol() <= player.getCol() + player.getLength() - 1 &&
-                        car.getCol() >= player.getCol()) {
-                    if (exitRow > primRow && car.getRow() > primRow && car.getRow() <= exitRow) {
-                        count++;
-                    } else if (exitRow < player.getRow() && car.getRow() < player.getRow() && car.getRow() >= exitRow) {
-                        count++;
-                    }
-                }
-            }
+    @Override
+    public int estimate(Board parent, int parentValue, Move move, Board child) {
+        Puzzle puzzle = parent.getPuzzle();
+        int player = puzzle.getPlayerIndex();
+        int car = move.getCarIndex() >= 0 ? move.getCarIndex() : puzzle.indexOf(move.getCarId());
+
+        // P bergerak atau papan multi-word: hitung ulang (tetap tanpa alokasi)
+        if (car == player || puzzle.getWordCount() > 1) {
+            return estimate(child);
         }
 
-        return count;
+        // Hanya satu mobil berpindah: koreksi sel jalur yang ditinggalkan dan ditempati
+        long lane = puzzle.getExitLaneMask(parent.getPosition(player))[0];
+        int from = parent.getPosition(car);
+        return parentValue
+            - Long.bitCount(lane & puzzle.getPositionMask(car, from))
+            + Long.bitCount(lane & puzzle.getPositionMask(car, from + move.getDelta()));
     }
 
     @Override
@@ -1,38 +1,51 @@
 package backend.util;
 
 import backend.model.Board;
-import backend.model.Car;
+import backend.model.Move;
+import backend.model.Puzzle;
 
-public class HeuristicManhattan implements Heuristic {
+public class HeuristicManhattan implements IncrementalHeuristic {
     @Override
     public int estimate(Board board) {
         // Dapatkan posisi mobil utama 'P'
-        Car player = board.getCar('P');
+        Puzzle puzzle = board.getPuzzle();
+        int player = puzzle.getPlayerIndex();
+        int position = board.getPosition(player);
+        int lane = puzzle.getLane(player);
+        int length = puzzle.getLength(player);
         int exitRow = board.getExitRow();
         int exitCol = board.getExitCol();
 
         // Jika mobil utama bergerak horizontal
-        if (player.isHorizontal()) {
-            int rightmostCol = player.getCol() + player.getLength() - 1;
+        if (puzzle.isHorizontal(player)) {
+            int rightmostCol = position + length - 1;
             if (exitCol > rightmostCol) {
-                return Math.abs(player.getRow() - exitRow) + Math.abs(rightmostCol - exitCol);
+                return Math.abs(lane - exitRow) + Math.abs(rightmostCol - exitCol);
             }
             else {
-                return Math.abs(player.getRow() - exitRow) + Math.abs(player.getCol() - exitCol);
+                return Math.abs(lane - exitRow) + Math.abs(position - exitCol);
             }
         }
         // Jika mobil utama bergerak vertikal 
         else {
-            int bottomRow = player.getRow() + player.getLength() - 1;
+            int bottomRow = position + length - 1;
             if (exitRow > bottomRow) {
-                return Math.abs(player.getCol() - exitCol) + Math.abs(bottomRow - exitRow); 
+                return Math.abs(lane - exitCol) + Math.abs(bottomRow - exitRow); 
             }
             else {
-                return Math.abs(player.getCol() - exitCol) + Math.abs(player.getRow() - exitRow); 
+                return Math.abs(lane - exitCol) + Math.abs(position - exitRow); 
             }
         }
     }
 
+    @Override
+    public int estimate(Board parent, int parentValue, Move move, Board child) {
+        // Nilai hanya bergantung pada posisi P
+        Puzzle puzzle = parent.getPuzzle();
+        int car = move.getCarIndex() >= 0 ? move.getCarIndex() : puzzle.indexOf(move.getCarId());
+        return car == puzzle.getPlayerIndex() ? estimate(child) : parentValue;
+    }
+
     @Override
     public String getName() {
         return "Manhattan Heuristic";
@@ -0,0 +1,251 @@
+package backend.util;
+
+import backend.model.Board;
+import backend.model.Move;
+import backend.model.Puzzle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Heuristik admissible berbasis satu atau lebih {@link PatternDatabase}. Dengan beberapa
+ * pattern yang saling lepas, estimasinya adalah jarak terbesar di antara pattern tersebut.
+ *
+ * <p>Tabel dibangun (atau dipetakan dari direktori cache) pada estimasi pertama sebuah
+ * puzzle. Pattern diberikan sebagai string id mobil, atau dipilih dari papan pertama:
+ * mobil di jalur P lebih dulu, lalu mobil di lintasan mobil yang sudah terpilih,
+ * mengisi tiap pattern hingga batas ukuran tabel.
+ */
+public class HeuristicPatternDatabase implements IncrementalHeuristic {
+    public static final long DEFAULT_MAX_ENTRIES = 1L << 21;
+    public static final int DEFAULT_MAX_PATTERNS = 2;
+
+    private final Path cacheDirectory;
+    private final List<String> patterns;
+    private final long maxEntries;
+    private final int maxPatterns;
+    private volatile Tables tables;
+
+    /**
+     * Membuat heuristik dengan pattern otomatis, tabel disimpan di memori saja.
+     */
+    public HeuristicPatternDatabase() {
+        this(null);
+    }
+
+    /**
+     * Membuat heuristik dengan pattern otomatis.
+     * @param cacheDirectory Direktori file tabel, atau null untuk cache di memori saja
+     */
+    public HeuristicPatternDatabase(Path cacheDirectory) {
+        this(cacheDirectory, DEFAULT_MAX_ENTRIES, DEFAULT_MAX_PATTERNS);
+    }
+
+    /**
+     * Membuat heuristik dengan pattern otomatis.
+     * @param cacheDirectory Direktori file tabel, atau null untuk cache di memori saja
+     * @param maxEntries Ukuran maksimal satu tabel (byte)
+     * @param maxPatterns Jumlah maksimal pattern
+     */
+    public HeuristicPatternDatabase(Path cacheDirectory, long maxEntries, int maxPatterns) {
+        if (maxEntries < 1 || maxEntries > PatternDatabase.MAX_ENTRIES) {
+            throw new IllegalArgumentException("Ukuran tabel harus antara 1 dan " + PatternDatabase.MAX_ENTRIES
+                + ", ditemukan: " + maxEntries);
+        }
+        if (maxPatterns < 1) {
+            throw new IllegalArgumentException("Jumlah pattern harus minimal 1, ditemukan: " + maxPatterns);
+        }
+        this.cacheDirectory = cacheDirectory;
+        this.patterns = null;
+        this.maxEntries = maxEntries;
+        this.maxPatterns = maxPatterns;
+    }
+
+    /**
+     * Membuat heuristik dengan pattern tetap.
+     * @param cacheDirectory Direktori file tabel, atau null untuk cache di memori saja
+     * @param patterns Id mobil tiap pattern, misalnya {@code "ABC"}; P selalu ikut
+     */
+    public HeuristicPatternDatabase(Path cacheDirectory, List<String> patterns) {
+        if (patterns.isEmpty()) {
+            throw new IllegalArgumentException("Minimal satu pattern dibutuhkan");
+        }
+        Set<Character> seen = new HashSet<>();
+        for (String pattern : patterns) {
+            for (char id : pattern.toCharArray()) {
+                if (id != 'P' && !seen.add(id)) {
+                    throw new IllegalArgumentException("Pattern tidak disjoint: mobil " + id + " muncul lebih dari sekali");
+                }
+            }
+        }
+        this.cacheDirectory = cacheDirectory;
+        this.patterns = List.copyOf(patterns);
+        this.maxEntries = PatternDatabase.MAX_ENTRIES;
+        this.maxPatterns = patterns.size();
+    }
+
+    @Override
+    public int estimate(Board board) {
+        Tables t = tablesFor(board);
+        int best = 0;
+        for (PatternDatabase database : t.databases) {
+            best = Math.max(best, database.distance(board));
+        }
+        return best;
+    }
+
+    @Override
+    public int estimate(Board parent, int parentValue, Move move, Board child) {
+        // Mobil di luar semua pattern tidak mengubah state abstrak
+        Tables t = tablesFor(child);
+        int car = move.getCarIndex() >= 0 ? move.getCarIndex() : t.puzzle.indexOf(move.getCarId());
+        return car < 0 || t.inPattern[car] ? estimate(child) : parentValue;
+    }
+
+    /**
+     * Mendapatkan tabel yang dipakai untuk puzzle sebuah papan, membangunnya bila perlu.
+     * @param board Papan puzzle
+     * @return Pattern database, kosong jika P tidak sejajar dengan exit
+     */
+    public List<PatternDatabase> getDatabases(Board board) {
+        return List.of(tablesFor(board).databases);
+    }
+
+    @Override
+    public String getName() {
+        return "Pattern Database Heuristic";
+    }
+
+    private Tables tablesFor(Board board) {
+        Tables t = tables;
+        Puzzle puzzle = board.getPuzzle();
+        if (t != null && t.puzzle == puzzle) return t;
+        synchronized (this) {
+            t = tables;
+            if (t != null && t.puzzle == puzzle) return t;
+            t = new Tables(puzzle, buildDatabases(board));
+            tables = t;
+            return t;
+        }
+    }
+
+    private PatternDatabase[] buildDatabases(Board board) {
+        Puzzle puzzle = board.getPuzzle();
+        if (puzzle.getPlayerIndex() < 0 || puzzle.getGoalPosition() == Integer.MIN_VALUE) {
+            return new PatternDatabase[0];
+        }
+        List<int[]> chosen = patterns != null ? resolve(puzzle) : choose(board);
+        PatternDatabase[] databases = new PatternDatabase[chosen.size()];
+        try {
+            for (int i = 0; i < databases.length; i++) {
+                databases[i] = PatternDatabase.loadOrBuild(puzzle, chosen.get(i), cacheDirectory);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal membaca/menulis pattern database", e);
+        }
+        return databases;
+    }
+
+    private List<int[]> resolve(Puzzle puzzle) {
+        List<int[]> result = new ArrayList<>();
+        for (String pattern : patterns) {
+            int[] cars = new int[pattern.length()];
+            for (int i = 0; i < cars.length; i++) {
+                cars[i] = puzzle.indexOf(pattern.charAt(i));
+                if (cars[i] < 0) {
+                    throw new IllegalArgumentException("Mobil " + pattern.charAt(i) + " tidak ada di puzzle");
+                }
+            }
+            result.add(cars);
+        }
+        return result;
+    }
+
+    /**
+     * Memilih pattern dari papan: mobil diurutkan berdasarkan relevansi lalu dibagi
+     * berurutan ke pattern-pattern hingga batas ukuran tabel.
+     */
+    private List<int[]> choose(Board board) {
+        Puzzle puzzle = board.getPuzzle();
+        int player = puzzle.getPlayerIndex();
+        int cols = puzzle.getCols();
+        int[] owner = new int[puzzle.getRows() * cols];
+        Arrays.fill(owner, -1);
+        for (int i = 0; i < puzzle.getCarCount(); i++) {
+            for (int k = 0; k < puzzle.getLength(i); k++) {
+                owner[cell(puzzle, i, board.getPosition(i) + k)] = i;
+            }
+        }
+
+        // Urutan BFS: mobil di jalur P ke goal, lalu mobil di lintasan mobil yang sudah terpilih
+        boolean[] seen = new boolean[puzzle.getCarCount()];
+        seen[player] = true;
+        List<Integer> order = new ArrayList<>();
+        int pos = board.getPosition(player);
+        int goal = puzzle.getGoalPosition();
+        int from = Math.min(pos, goal);
+        int to = Math.max(pos, goal) + puzzle.getLength(player) - 1;
+        for (int q = from; q <= to; q++) {
+            addOwner(owner[cell(puzzle, player, q)], seen, order);
+        }
+        for (int head = 0; head < order.size(); head++) {
+            int car = order.get(head);
+            int span = puzzle.isHorizontal(car) ? cols : puzzle.getRows();
+            for (int q = 0; q < span; q++) {
+                addOwner(owner[cell(puzzle, car, q)], seen, order);
+            }
+        }
+
+        List<int[]> result = new ArrayList<>();
+        List<Integer> current = new ArrayList<>();
+        for (int car : order) {
+            int[] candidate = toArray(current, car);
+            if (PatternDatabase.entries(puzzle, candidate) <= maxEntries) {
+                current.add(car);
+                continue;
+            }
+            if (!current.isEmpty()) result.add(toArray(current, -1));
+            if (result.size() == maxPatterns) return result;
+            current.clear();
+            if (PatternDatabase.entries(puzzle, new int[] { car }) <= maxEntries) current.add(car);
+        }
+        if (!current.isEmpty() || result.isEmpty()) result.add(toArray(current, -1));
+        return result;
+    }
+
+    private static void addOwner(int car, boolean[] seen, List<Integer> order) {
+        if (car >= 0 && !seen[car]) {
+            seen[car] = true;
+            order.add(car);
+        }
+    }
+
+    private static int[] toArray(List<Integer> cars, int extra) {
+        int[] result = new int[cars.size() + (extra >= 0 ? 1 : 0)];
+        for (int i = 0; i < cars.size(); i++) result[i] = cars.get(i);
+        if (extra >= 0) result[cars.size()] = extra;
+        return result;
+    }
+
+    private static int cell(Puzzle puzzle, int car, int q) {
+        int cols = puzzle.getCols();
+        return puzzle.isHorizontal(car) ? puzzle.getLane(car) * cols + q : q * cols + puzzle.getLane(car);
+    }
+
+    private static final class Tables {
+        final Puzzle puzzle;
+        final PatternDatabase[] databases;
+        final boolean[] inPattern;
+
+        Tables(Puzzle puzzle, PatternDatabase[] databases) {
+            this.puzzle = puzzle;
+            this.databases = databases;
+            this.inPattern = new boolean[puzzle.getCarCount()];
+            for (PatternDatabase database : databases) {
+                for (int car : database.getCars()) inPattern[car] = true;
+            }
+        }
+    }
+}
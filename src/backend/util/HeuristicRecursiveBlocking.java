@@ -0,0 +1,182 @@
+package backend.util;
+
+import backend.model.Board;
+import backend.model.Puzzle;
+
+import java.util.*;
+
+/**
+ * Heuristik admissible yang menghitung mobil yang pasti harus bergerak.
+ *
+ * <p>Setiap mobil di depan P harus bergerak. Mobil tersebut harus meninggalkan sel
+ * yang dilewati P, ke arah ujung bawah atau ujung atas lintasannya sendiri, dan
+ * dalam perjalanannya menyapu rentang sel yang tetap: setiap mobil lain di rentang
+ * itu juga harus bergerak, dan pada gilirannya harus meninggalkan sel yang disapu.
+ * Arah tiap mobil tidak diketahui, sehingga estimasinya adalah minimum, atas semua
+ * pilihan arah, dari jumlah mobil berbeda yang harus bergerak, ditambah satu untuk P.
+ * Arah yang tidak muat di papan bukan pilihan.
+ *
+ * <p>Setiap mobil butuh minimal satu langkah dan satu langkah hanya menggeser satu
+ * mobil, sehingga nilainya tidak pernah melebihi jarak sebenarnya. Pohon pilihan
+ * dicari secara depth-first dengan batas node; cabang yang terpotong menyumbang
+ * jumlah yang sudah tercapai, yang tetap merupakan batas bawah.
+ */
+public class HeuristicRecursiveBlocking implements Heuristic {
+    private static final int SEARCH_BUDGET = 256;
+
+    @Override
+    public int estimate(Board board) {
+        if (board.isGoal()) return 0;
+        Puzzle puzzle = board.getPuzzle();
+        int player = puzzle.getPlayerIndex();
+        int goal = puzzle.getGoalPosition();
+        if (player < 0 || goal == Integer.MIN_VALUE) return 0;
+
+        Search search = new Search(board);
+        int pos = board.getPosition(player);
+        int len = puzzle.getLength(player);
+
+        // Jalur P dari posisi sekarang sampai posisi goal
+        int from = goal > pos ? pos + len : goal;
+        int to = goal > pos ? goal + len - 1 : pos - 1;
+        search.requireClear(player, from, to);
+        search.run(0);
+        return 1 + search.best;
+    }
+
+    @Override
+    public String getName() {
+        return "Recursive Blocking Heuristic";
+    }
+
+    private static final class Search {
+        private final Board board;
+        private final Puzzle puzzle;
+        private final int cols;
+        private final int[] owner;
+        private final boolean[] forced;
+
+        // Antrean kebutuhan: mobil pendingCar harus meninggalkan sel lintasannya [pendingLo, pendingHi]
+        private final int[] pendingCar;
+        private final int[] pendingLo;
+        private final int[] pendingHi;
+        private int pendingSize;
+
+        private int count;
+        private int best = Integer.MAX_VALUE;
+        private int budget = SEARCH_BUDGET;
+
+        Search(Board board) {
+            this.board = board;
+            this.puzzle = board.getPuzzle();
+            this.cols = puzzle.getCols();
+            int n = puzzle.getCarCount();
+            this.owner = new int[puzzle.getRows() * cols];
+            this.forced = new boolean[n];
+            this.pendingCar = new int[n];
+            this.pendingLo = new int[n];
+            this.pendingHi = new int[n];
+
+            Arrays.fill(owner, -1);
+            for (int i = 0; i < n; i++) {
+                for (int k = 0; k < puzzle.getLength(i); k++) {
+                    owner[cell(i, board.getPosition(i) + k)] = i;
+                }
+            }
+        }
+
+        private int cell(int car, int q) {
+            return puzzle.isHorizontal(car)
+                ? puzzle.getLane(car) * cols + q
+                : q * cols + puzzle.getLane(car);
+        }
+
+        private int laneCoordinate(int car, int cell) {
+            return puzzle.isHorizontal(car) ? cell % cols : cell / cols;
+        }
+
+        /**
+         * Menandai semua mobil lain di sel [from, to] lintasan {@code car} sebagai
+         * wajib bergerak.
+         * @return Jumlah mobil yang baru ditandai
+         */
+        int requireClear(int car, int from, int to) {
+            int added = 0;
+            for (int q = from; q <= to; q++) {
+                int c = cell(car, q);
+                int other = owner[c];
+                if (other < 0 || other == car || other == puzzle.getPlayerIndex()) continue;
+                int coordinate = laneCoordinate(other, c);
+                if (forced[other]) {
+                    // Mobil paralel yang sudah ditandai pada sapuan ini: seluruh selnya di
+                    // rentang sapuan harus kosong bersamaan. Kebutuhan dari sapuan lain tidak
+                    // digabung, karena tidak harus terpenuhi pada saat yang sama.
+                    int slot = findPending(other, pendingSize - added);
+                    if (slot >= 0) {
+                        pendingLo[slot] = Math.min(pendingLo[slot], coordinate);
+                        pendingHi[slot] = Math.max(pendingHi[slot], coordinate);
+                    }
+                    continue;
+                }
+                forced[other] = true;
+                pendingCar[pendingSize] = other;
+                pendingLo[pendingSize] = coordinate;
+                pendingHi[pendingSize] = coordinate;
+                pendingSize++;
+                added++;
+                count++;
+            }
+            return added;
+        }
+
+        private int findPending(int car, int fromSlot) {
+            for (int s = fromSlot; s < pendingSize; s++) {
+                if (pendingCar[s] == car) return s;
+            }
+            return -1;
+        }
+
+        void run(int next) {
+            if (count >= best) return;
+            if (next == pendingSize || --budget < 0) {
+                best = count;
+                return;
+            }
+
+            int car = pendingCar[next];
+            int lo = pendingLo[next];
+            int hi = pendingHi[next];
+            int pos = board.getPosition(car);
+            int len = puzzle.getLength(car);
+            int span = puzzle.isHorizontal(car) ? puzzle.getCols() : puzzle.getRows();
+
+            boolean branched = false;
+            // Keluar ke arah bawah lintasan: ujung depan berhenti sebelum lo
+            if (lo - len >= 0) {
+                branch(next, car, lo - len, pos - 1);
+                branched = true;
+            }
+            // Keluar ke arah atas lintasan: ujung belakang berhenti setelah hi
+            if (hi + len <= span - 1) {
+                branch(next, car, pos + len, hi + len);
+                branched = true;
+            }
+            if (!branched) {
+                // Mobil tidak bisa keluar sama sekali: puzzle tidak solvable dari sini
+                run(next + 1);
+            }
+        }
+
+        private void branch(int next, int car, int from, int to) {
+            int before = pendingSize;
+            int added = requireClear(car, from, to);
+            run(next + 1);
+
+            for (int s = before; s < pendingSize; s++) {
+                forced[pendingCar[s]] = false;
+            }
+            pendingSize = before;
+            count -= added;
+        }
+    }
+}
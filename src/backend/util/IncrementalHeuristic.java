@@ -0,0 +1,34 @@
+package backend.util;
+
+import backend.model.Board;
+import backend.model.Move;
+
+/**
+ * Heuristik yang nilainya untuk successor dapat diturunkan dari nilai parent dan
+ * satu langkah di antara keduanya. Satu langkah hanya mengubah satu mobil, sehingga
+ * pembaruan biasanya cukup memeriksa mobil itu saja, bukan seluruh papan.
+ */
+public interface IncrementalHeuristic extends Heuristic {
+    /**
+     * Menghitung heuristik successor dari nilai heuristik parent.
+     *
+     * @param parent Papan sebelum langkah
+     * @param parentValue Nilai {@link #estimate(Board)} untuk parent
+     * @param move Langkah dari parent ke child
+     * @param child Papan setelah langkah
+     * @return Nilai yang sama dengan {@code estimate(child)}
+     */
+    int estimate(Board parent, int parentValue, Move move, Board child);
+
+    /**
+     * Menghitung heuristik child, memakai jalur inkremental bila heuristiknya
+     * mendukung dan child dihasilkan dari satu langkah.
+     */
+    static int estimateChild(Heuristic heuristic, Board parent, int parentValue, Board child) {
+        Move move = child.getLastMove();
+        if (move != null && heuristic instanceof IncrementalHeuristic) {
+            return ((IncrementalHeuristic) heuristic).estimate(parent, parentValue, move, child);
+        }
+        return heuristic.estimate(child);
+    }
+}
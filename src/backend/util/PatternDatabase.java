@@ -0,0 +1,347 @@
+package backend.util;
+
+import backend.model.Board;
+import backend.model.Puzzle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Jarak eksak pada abstraksi puzzle yang hanya menyisakan P dan sebagian mobil
+ * terpilih (pattern); semua mobil lain dihapus dari papan.
+ *
+ * <p>Langkah abstrak menggeser satu mobil pattern melewati sejumlah sel kosong.
+ * Langkah nyata berupa geseran seperti itu atau menggeser mobil yang dihapus, yang
+ * tidak mengubah state abstrak, sehingga jarak abstrak adalah batas bawah yang
+ * konsisten untuk jarak nyata. Langkah abstrak dapat dibalik, sehingga tabel diisi
+ * dengan satu breadth-first search mundur dari semua goal state abstrak.
+ *
+ * <p>State abstrak diindeks dari posisinya yang dikemas dalam mixed radix: mobil
+ * {@code k} pada pattern menyumbang {@code position * stride[k]}. Tabel menyimpan satu
+ * byte jarak per indeks; di disk ditulis setelah header kecil dan di-memory-map saat
+ * dimuat.
+ */
+public final class PatternDatabase {
+    /** Jarak untuk state abstrak yang tidak valid atau tidak bisa mencapai goal. */
+    public static final int UNSOLVABLE = 0xFF;
+    public static final long MAX_ENTRIES = 1L << 28;
+
+    private static final int MAGIC = 0x52485044; // "RHPD"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+
+    private final int[] cars;
+    private final int[] strides;
+    private final long fingerprint;
+    private final int size;
+    private final ByteBuffer distances;
+
+    private PatternDatabase(int[] cars, int[] strides, long fingerprint, ByteBuffer distances) {
+        this.cars = cars;
+        this.strides = strides;
+        this.fingerprint = fingerprint;
+        this.size = distances.limit();
+        this.distances = distances;
+    }
+
+    /**
+     * Membangun tabel sebuah pattern.
+     * @param puzzle Struktur puzzle
+     * @param pattern Indeks mobil pattern; P ditambahkan di depan jika belum ada
+     * @return Pattern database
+     * @throws IllegalArgumentException jika pattern tidak valid atau lebih dari {@link #MAX_ENTRIES} entri
+     */
+    public static PatternDatabase build(Puzzle puzzle, int[] pattern) {
+        int[] cars = normalize(puzzle, pattern);
+        int[] strides = strides(puzzle, cars);
+        int n = cars.length;
+        int[] counts = new int[n];
+        for (int k = 0; k < n; k++) counts[k] = positionCount(puzzle, cars[k]);
+        int size = (int) entries(puzzle, cars);
+
+        int[][] laneCells = new int[n][];
+        int[] lengths = new int[n];
+        for (int k = 0; k < n; k++) {
+            lengths[k] = puzzle.getLength(cars[k]);
+            int span = puzzle.isHorizontal(cars[k]) ? puzzle.getCols() : puzzle.getRows();
+            laneCells[k] = new int[span];
+            for (int q = 0; q < span; q++) laneCells[k][q] = cell(puzzle, cars[k], q);
+        }
+
+        byte[] distance = new byte[size];
+        Arrays.fill(distance, (byte) UNSOLVABLE);
+        int[] queue = new int[size];
+        int head = 0, tail = 0;
+        int[] pos = new int[n];
+        long[] occupied = new long[(puzzle.getRows() * puzzle.getCols() + 63) >>> 6];
+
+        // Goal abstrak: P di posisi goal, mobil pattern lain di posisi mana pun yang tidak bertumpuk.
+        // P selalu di indeks 0 dengan stride 1.
+        for (int index = puzzle.getGoalPosition(); index < size; index += counts[0]) {
+            decode(index, counts, pos);
+            if (occupy(pos, laneCells, lengths, occupied)) {
+                distance[index] = 0;
+                queue[tail++] = index;
+            }
+        }
+
+        // BFS mundur; slide abstrak bisa dibalik sehingga predecessor = successor
+        while (head < tail) {
+            int index = queue[head++];
+            int d = distance[index] & 0xFF;
+            if (d + 1 >= UNSOLVABLE) {
+                throw new IllegalStateException("Jarak melebihi " + (UNSOLVABLE - 1) + " langkah");
+            }
+            decode(index, counts, pos);
+            occupy(pos, laneCells, lengths, occupied);
+            for (int k = 0; k < n; k++) {
+                int p = pos[k];
+                for (int q = p - 1; q >= 0 && !isSet(occupied, laneCells[k][q]); q--) {
+                    int next = index + (q - p) * strides[k];
+                    if ((distance[next] & 0xFF) == UNSOLVABLE) {
+                        distance[next] = (byte) (d + 1);
+                        queue[tail++] = next;
+                    }
+                }
+                for (int q = p + 1; q < counts[k] && !isSet(occupied, laneCells[k][q + lengths[k] - 1]); q++) {
+                    int next = index + (q - p) * strides[k];
+                    if ((distance[next] & 0xFF) == UNSOLVABLE) {
+                        distance[next] = (byte) (d + 1);
+                        queue[tail++] = next;
+                    }
+                }
+            }
+        }
+
+        return new PatternDatabase(cars, strides, fingerprint(puzzle, cars), ByteBuffer.wrap(distance));
+    }
+
+    /**
+     * Memuat tabel sebuah pattern dari direktori cache, atau membangun dan menyimpannya di sana.
+     * @param puzzle Struktur puzzle
+     * @param pattern Indeks mobil pattern
+     * @param cacheDirectory Direktori file tabel, atau null untuk menyimpan tabel di memori saja
+     * @return Pattern database
+     * @throws IOException jika cache tidak dapat dibaca atau ditulis
+     */
+    public static PatternDatabase loadOrBuild(Puzzle puzzle, int[] pattern, Path cacheDirectory) throws IOException {
+        if (cacheDirectory == null) {
+            return build(puzzle, pattern);
+        }
+        int[] cars = normalize(puzzle, pattern);
+        Path file = cacheDirectory.resolve(Long.toHexString(fingerprint(puzzle, cars)) + ".rhpd");
+        if (Files.isRegularFile(file)) {
+            return load(file, puzzle, cars);
+        }
+        PatternDatabase built = build(puzzle, cars);
+        Files.createDirectories(cacheDirectory);
+        built.save(file);
+        return built;
+    }
+
+    /**
+     * Menulis tabel ke file.
+     * @param file File tujuan
+     * @throws IOException jika penulisan gagal
+     */
+    public void save(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putLong(fingerprint).putInt(size);
+        header.position(HEADER_BYTES).flip();
+        ByteBuffer body = distances.duplicate();
+        body.clear().limit(size);
+
+        // File sementara unik: beberapa worker bisa membangun pattern yang sama bersamaan
+        Path dir = file.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) channel.write(header);
+            while (body.hasRemaining()) channel.write(body);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Memetakan file tabel ke memori.
+     * @param file File tabel yang ditulis oleh {@link #save(Path)}
+     * @param puzzle Struktur puzzle
+     * @param pattern Indeks mobil pattern yang dipakai saat file dibangun
+     * @return Pattern database
+     * @throws IOException jika file tidak dapat dibaca atau bukan milik pattern tersebut
+     */
+    public static PatternDatabase load(Path file, Puzzle puzzle, int[] pattern) throws IOException {
+        int[] cars = normalize(puzzle, pattern);
+        long expected = entries(puzzle, cars);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            map.order(ByteOrder.LITTLE_ENDIAN);
+            if (channel.size() < HEADER_BYTES || map.getInt(0) != MAGIC || map.getInt(4) != VERSION) {
+                throw new IOException("Bukan file pattern database yang valid: " + file);
+            }
+            if (map.getLong(8) != fingerprint(puzzle, cars) || map.getInt(16) != expected
+                    || channel.size() != HEADER_BYTES + expected) {
+                throw new IOException("Pattern database tidak sesuai dengan pattern: " + file);
+            }
+            ByteBuffer distances = map.position(HEADER_BYTES).slice();
+            return new PatternDatabase(cars, strides(puzzle, cars), map.getLong(8), distances);
+        }
+    }
+
+    /**
+     * Mendapatkan jarak abstrak sebuah state.
+     * @param board State dari puzzle yang dipakai untuk membangun tabel
+     * @return Batas bawah jarak ke goal, atau {@link #UNSOLVABLE}
+     */
+    public int distance(Board board) {
+        return distances.get(index(board)) & 0xFF;
+    }
+
+    /**
+     * Mendapatkan indeks tabel sebuah state: posisi mobil pattern yang dikemas dalam mixed radix.
+     * @param board State yang diindeks
+     * @return Indeks tabel
+     */
+    public int index(Board board) {
+        int index = 0;
+        for (int k = 0; k < cars.length; k++) {
+            index += board.getPosition(cars[k]) * strides[k];
+        }
+        return index;
+    }
+
+    /**
+     * Mendapatkan mobil-mobil pattern, dimulai dari P.
+     * @return Indeks mobil
+     */
+    public int[] getCars() {
+        return cars.clone();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Mendapatkan jumlah entri tabel yang dibutuhkan sebuah pattern.
+     * @param puzzle Struktur puzzle
+     * @param pattern Indeks mobil pattern, dengan atau tanpa P
+     * @return Hasil kali jumlah posisi P dan mobil-mobil pattern
+     */
+    public static long entries(Puzzle puzzle, int[] pattern) {
+        long total = 1;
+        boolean player = false;
+        for (int car : pattern) {
+            total *= positionCount(puzzle, car);
+            player |= car == puzzle.getPlayerIndex();
+        }
+        if (!player) total *= positionCount(puzzle, puzzle.getPlayerIndex());
+        return total;
+    }
+
+    private static int[] normalize(Puzzle puzzle, int[] pattern) {
+        int player = puzzle.getPlayerIndex();
+        if (player < 0 || puzzle.getGoalPosition() == Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("Puzzle tidak memiliki mobil P yang sejajar dengan exit");
+        }
+        boolean[] seen = new boolean[puzzle.getCarCount()];
+        int[] cars = new int[pattern.length + 1];
+        int n = 0;
+        cars[n++] = player;
+        seen[player] = true;
+        for (int car : pattern) {
+            if (car < 0 || car >= seen.length) {
+                throw new IllegalArgumentException("Indeks mobil tidak valid: " + car);
+            }
+            if (car == player) continue;
+            if (seen[car]) {
+                throw new IllegalArgumentException("Mobil " + puzzle.getId(car) + " muncul lebih dari sekali di pattern");
+            }
+            seen[car] = true;
+            cars[n++] = car;
+        }
+        cars = Arrays.copyOf(cars, n);
+        long total = entries(puzzle, cars);
+        if (total > MAX_ENTRIES) {
+            throw new IllegalArgumentException("Pattern terlalu besar: " + total + " entri, maksimal " + MAX_ENTRIES);
+        }
+        return cars;
+    }
+
+    private static int[] strides(Puzzle puzzle, int[] cars) {
+        int[] strides = new int[cars.length];
+        int stride = 1;
+        for (int k = 0; k < cars.length; k++) {
+            strides[k] = stride;
+            stride *= positionCount(puzzle, cars[k]);
+        }
+        return strides;
+    }
+
+    private static int positionCount(Puzzle puzzle, int car) {
+        int span = puzzle.isHorizontal(car) ? puzzle.getCols() : puzzle.getRows();
+        return span - puzzle.getLength(car) + 1;
+    }
+
+    private static int cell(Puzzle puzzle, int car, int q) {
+        int cols = puzzle.getCols();
+        return puzzle.isHorizontal(car) ? puzzle.getLane(car) * cols + q : q * cols + puzzle.getLane(car);
+    }
+
+    private static void decode(int index, int[] counts, int[] pos) {
+        for (int k = 0; k < counts.length; k++) {
+            pos[k] = index % counts[k];
+            index /= counts[k];
+        }
+    }
+
+    // Isi bitset sel terisi; false jika ada mobil yang bertumpuk
+    private static boolean occupy(int[] pos, int[][] laneCells, int[] lengths, long[] occupied) {
+        Arrays.fill(occupied, 0L);
+        for (int k = 0; k < pos.length; k++) {
+            for (int q = pos[k]; q < pos[k] + lengths[k]; q++) {
+                int c = laneCells[k][q];
+                if (isSet(occupied, c)) return false;
+                occupied[c >>> 6] |= 1L << c;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSet(long[] bits, int c) {
+        return (bits[c >>> 6] & (1L << c)) != 0;
+    }
+
+    /**
+     * Fingerprint puzzle abstrak: dimensi, exit serta id, orientasi, panjang dan
+     * lintasan tiap mobil pattern sesuai urutan pattern.
+     */
+    private static long fingerprint(Puzzle puzzle, int[] cars) {
+        long h = 0xcbf29ce484222325L;
+        h = mix(h, puzzle.getRows());
+        h = mix(h, puzzle.getCols());
+        h = mix(h, puzzle.getExitRow());
+        h = mix(h, puzzle.getExitCol());
+        for (int car : cars) {
+            h = mix(h, puzzle.getId(car));
+            h = mix(h, puzzle.isHorizontal(car) ? 1 : 0);
+            h = mix(h, puzzle.getLength(car));
+            h = mix(h, puzzle.getLane(car));
+        }
+        return h;
+    }
+
+    private static long mix(long h, int value) {
+        h ^= value;
+        h *= 0x100000001b3L;
+        return h ^ (h >>> 29);
+    }
+}
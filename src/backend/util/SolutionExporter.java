@@ -2,64 +2,317 @@ package backend.util;
 
 import backend.model.Board;
 import backend.model.Car;
+import backend.model.Move;
+import backend.model.Parser;
+import backend.model.Puzzle;
+import backend.model.Solution;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Menulis solusi secara streaming: langkah diterapkan satu per satu dari papan awal
+ * dan langsung ditulis, tanpa menyimpan daftar papan. GUI dan CLI memakai export ini.
+ */
 public class SolutionExporter {
+    /**
+     * Format file solusi.
+     */
+    public enum Format {
+        /** Statistik, papan awal, lalu tiap langkah beserta papan setelahnya. */
+        TEXT(".txt"),
+        /** Satu baris langkah, misalnya {@code "A+1 C-2 P+3"}. */
+        MOVES(".moves"),
+        /** Header biner (statistik dan papan awal) lalu dua byte per langkah. */
+        BINARY(".rhs");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * @param name {@code text}, {@code moves} atau {@code binary}
+         * @return Format dengan nama tersebut
+         */
+        public static Format fromName(String name) {
+            return switch (name.toLowerCase()) {
+                case "text" -> TEXT;
+                case "moves" -> MOVES;
+                case "binary" -> BINARY;
+                default -> throw new IllegalArgumentException("Format export tidak dikenal: " + name);
+            };
+        }
+    }
+
+    private static final int BINARY_MAGIC = 0x5248534C; // "RHSL"
+    private static final int BINARY_VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
 
     public static boolean exportSolution(List<Board> boardSequence, String algorithmName, String heuristicName,
                                          int totalVisited, long durationMs, File destination) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(destination))) {
-            writer.write("Algoritma: " + algorithmName + "\n");
-            writer.write("Heuristik: " + heuristicName + "\n");
-            writer.write("Nodes dikunjungi: " + totalVisited + "\n");
-            writer.write("Waktu eksekusi: " + durationMs + " ms\n\n");
-
-            // Write initial board
-            writer.write("Papan Awal\n");
-            writer.write(boardSequence.get(0).toString() + "\n");
-
-            // Write step-by-step moves
-            for (int step = 1; step < boardSequence.size(); step++) {
-                Board before = boardSequence.get(step - 1);
-                Board after = boardSequence.get(step);
-
-                String moveDescription = describeMove(before, after);
-                writer.write("Langkah " + step + ": " + moveDescription + "\n");
-                writer.write(after.toString() + "\n");
-            }
+        return exportSolution(Solution.fromBoards(boardSequence), algorithmName, heuristicName,
+                totalVisited, durationMs, destination);
+    }
+
+    public static boolean exportSolution(Solution solution, String algorithmName, String heuristicName,
+                                         int totalVisited, long durationMs, File destination) throws IOException {
+        export(solution, algorithmName, heuristicName, totalVisited, durationMs, Format.TEXT, destination.toPath());
+        return true;
+    }
 
-            return true;
+    /**
+     * Menulis solusi ke file.
+     * @param solution Solusi
+     * @param algorithmName Nama algoritma
+     * @param heuristicName Nama heuristik
+     * @param totalVisited Jumlah node yang dikunjungi
+     * @param durationMs Waktu eksekusi
+     * @param format Format file
+     * @param destination File tujuan
+     * @throws IOException jika penulisan gagal
+     */
+    public static void export(Solution solution, String algorithmName, String heuristicName,
+                              int totalVisited, long durationMs, Format format, Path destination) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(destination), BUFFER_SIZE)) {
+            export(solution, algorithmName, heuristicName, totalVisited, durationMs, format, out);
         }
     }
 
-    private static String describeMove(Board before, Board after) {
-        for (Car oldCar : before.getCars()) {
-            Car newCar = findCarById(after, oldCar.getId());
-
-            if (newCar != null) {
-                if (oldCar.getRow() != newCar.getRow() || oldCar.getCol() != newCar.getCol()) {
-                    String direction;
-                    if (oldCar.isHorizontal()) {
-                        direction = newCar.getCol() > oldCar.getCol() ? "kanan" : "kiri";
-                    } else {
-                        direction = newCar.getRow() > oldCar.getRow() ? "bawah" : "atas";
-                    }
-                    return oldCar.getId() + "-" + direction;
-                }
+    /**
+     * Menulis solusi ke stream. Stream di-flush tetapi tidak ditutup.
+     */
+    public static void export(Solution solution, String algorithmName, String heuristicName,
+                              int totalVisited, long durationMs, Format format, OutputStream out) throws IOException {
+        switch (format) {
+            case TEXT -> writeText(solution, algorithmName, heuristicName, totalVisited, durationMs, out);
+            case MOVES -> writeMoves(solution, out);
+            case BINARY -> writeBinary(solution, algorithmName, heuristicName, totalVisited, durationMs, out);
+        }
+    }
+
+    private static void writeText(Solution solution, String algorithmName, String heuristicName,
+                                  int totalVisited, long durationMs, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write("Algoritma: " + algorithmName + "\n");
+        writer.write("Heuristik: " + heuristicName + "\n");
+        writer.write("Nodes dikunjungi: " + totalVisited + "\n");
+        writer.write("Waktu eksekusi: " + durationMs + " ms\n\n");
+
+        Board initialBoard = solution.getInitialBoard();
+        Puzzle puzzle = initialBoard.getPuzzle();
+        Grid grid = new Grid(initialBoard);
+        writer.write("Papan Awal\n");
+        grid.write(writer);
+        writer.write('\n');
+
+        int step = 0;
+        for (Move move : solution.getMoves()) {
+            grid.apply(move);
+            writer.write("Langkah " + (++step) + ": " + describeMove(puzzle, move) + "\n");
+            grid.write(writer);
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private static void writeMoves(Solution solution, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        boolean first = true;
+        for (Move move : solution.getMoves()) {
+            if (!first) writer.write(' ');
+            first = false;
+            writer.write(move.getCarId());
+            if (move.getDelta() > 0) writer.write('+');
+            writer.write(Integer.toString(move.getDelta()));
+        }
+        writer.write('\n');
+        writer.flush();
+    }
+
+    /*
+     * Format biner (big-endian):
+     *   int magic "RHSL", byte versi, UTF algoritma, UTF heuristik, int node, long waktu,
+     *   byte baris, byte kolom, byte baris exit, byte kolom exit, short jumlah mobil,
+     *   per mobil: char id, byte (0x80 jika horizontal | panjang), byte lintasan, byte posisi,
+     *   int jumlah langkah, per langkah: byte indeks mobil, byte pergeseran (signed).
+     */
+    private static void writeBinary(Solution solution, String algorithmName, String heuristicName,
+                                    int totalVisited, long durationMs, OutputStream out) throws IOException {
+        Board board = solution.getInitialBoard();
+        Puzzle puzzle = board.getPuzzle();
+        int cars = puzzle.getCarCount();
+        if (cars > 256) {
+            throw new IllegalArgumentException("Format biner mendukung maksimal 256 mobil, ditemukan: " + cars);
+        }
+
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        data.writeInt(BINARY_MAGIC);
+        data.writeByte(BINARY_VERSION);
+        data.writeUTF(algorithmName);
+        data.writeUTF(heuristicName);
+        data.writeInt(totalVisited);
+        data.writeLong(durationMs);
+
+        data.writeByte(puzzle.getRows());
+        data.writeByte(puzzle.getCols());
+        data.writeByte(puzzle.getExitRow());
+        data.writeByte(puzzle.getExitCol());
+        data.writeShort(cars);
+        for (int i = 0; i < cars; i++) {
+            data.writeChar(puzzle.getId(i));
+            data.writeByte((puzzle.isHorizontal(i) ? 0x80 : 0) | puzzle.getLength(i));
+            data.writeByte(puzzle.getLane(i));
+            data.writeByte(board.getPosition(i));
+        }
+
+        List<Move> moves = solution.getMoves();
+        data.writeInt(moves.size());
+        for (Move move : moves) {
+            int car = move.getCarIndex() >= 0 ? move.getCarIndex() : puzzle.indexOf(move.getCarId());
+            data.writeByte(car);
+            data.writeByte(move.getDelta());
+        }
+        data.flush();
+    }
+
+    /**
+     * Membaca solusi dalam format {@link Format#BINARY}.
+     * @param in Stream sumber
+     * @return Solusi beserta papan awalnya
+     * @throws IOException jika stream tidak dapat dibaca atau bukan solusi biner yang valid
+     */
+    public static Solution readBinary(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+        if (data.readInt() != BINARY_MAGIC || data.readUnsignedByte() != BINARY_VERSION) {
+            throw new IOException("Bukan file solusi biner yang valid");
+        }
+        data.readUTF();
+        data.readUTF();
+        data.readInt();
+        data.readLong();
+
+        int rows = data.readUnsignedByte();
+        int cols = data.readUnsignedByte();
+        int exitRow = data.readByte();
+        int exitCol = data.readByte();
+        int count = data.readUnsignedShort();
+        List<Car> cars = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            char id = data.readChar();
+            int shape = data.readUnsignedByte();
+            boolean horizontal = (shape & 0x80) != 0;
+            int length = shape & 0x7F;
+            int lane = data.readUnsignedByte();
+            int position = data.readUnsignedByte();
+            cars.add(horizontal ? new Car(id, true, length, lane, position) : new Car(id, false, length, position, lane));
+        }
+        Board initialBoard = Parser.createBoard(rows, cols, cars, exitRow, exitCol);
+        Puzzle puzzle = initialBoard.getPuzzle();
+
+        int moveCount = data.readInt();
+        if (moveCount < 0) {
+            throw new IOException("Jumlah langkah tidak valid: " + moveCount);
+        }
+        List<Move> moves = new ArrayList<>(moveCount);
+        // Langkah diputar ulang dengan pemeriksaan sel kosong, agar file rusak tidak
+        // menghasilkan papan dengan mobil bertumpuk
+        Board board = initialBoard;
+        for (int i = 0; i < moveCount; i++) {
+            int car = data.readUnsignedByte();
+            int delta = data.readByte();
+            Move move = car < count && delta != 0 && Math.abs(delta) <= maxDelta(puzzle, car)
+                ? puzzle.getMove(car, delta) : null;
+            if (move == null || !board.isLegal(move)) {
+                throw new IOException("Langkah ke-" + (i + 1) + " tidak valid");
             }
+            board = board.apply(move);
+            moves.add(move);
         }
+        return new Solution(initialBoard, moves);
+    }
+
+    private static int maxDelta(Puzzle puzzle, int car) {
+        int span = puzzle.isHorizontal(car) ? puzzle.getCols() : puzzle.getRows();
+        return span - puzzle.getLength(car);
+    }
 
-        return "tidak diketahui";
+    /**
+     * Mendeskripsikan langkah, misalnya {@code "A-kanan"}.
+     * @param puzzle Puzzle tempat langkah berlaku
+     * @param move Langkah
+     * @return Id mobil dan arah gerakannya
+     */
+    public static String describeMove(Puzzle puzzle, Move move) {
+        return move.getCarId() + "-" + direction(puzzle, move);
     }
 
-    private static Car findCarById(Board board, char carId) {
-        for (Car car : board.getCars()) {
-            if (car.getId() == carId) {
-                return car;
+    private static String direction(Puzzle puzzle, Move move) {
+        int car = move.getCarIndex() >= 0 ? move.getCarIndex() : puzzle.indexOf(move.getCarId());
+        if (puzzle.isHorizontal(car)) {
+            return move.getDelta() > 0 ? "kanan" : "kiri";
+        }
+        return move.getDelta() > 0 ? "bawah" : "atas";
+    }
+
+    /**
+     * Grid karakter yang diperbarui per langkah: hanya sel mobil yang bergerak
+     * yang diubah, lalu grid ditulis dengan format yang sama seperti {@link Board#toString()}.
+     */
+    private static final class Grid {
+        private final Puzzle puzzle;
+        private final int cols;
+        private final char[] cells;
+        private final int[] positions;
+        private final char[] line;
+
+        Grid(Board board) {
+            this.puzzle = board.getPuzzle();
+            this.cols = puzzle.getCols();
+            this.cells = new char[puzzle.getRows() * cols];
+            this.positions = new int[puzzle.getCarCount()];
+            this.line = new char[2 * cols + 1];
+            Arrays.fill(cells, '.');
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = board.getPosition(i);
+                paint(i, puzzle.getId(i));
+            }
+        }
+
+        void apply(Move move) {
+            int car = move.getCarIndex() >= 0 ? move.getCarIndex() : puzzle.indexOf(move.getCarId());
+            paint(car, '.');
+            positions[car] += move.getDelta();
+            paint(car, puzzle.getId(car));
+        }
+
+        private void paint(int car, char c) {
+            for (int k = 0; k < puzzle.getLength(car); k++) {
+                int q = positions[car] + k;
+                int cell = puzzle.isHorizontal(car) ? puzzle.getLane(car) * cols + q : q * cols + puzzle.getLane(car);
+                cells[cell] = c;
+            }
+        }
+
+        void write(Writer writer) throws IOException {
+            line[2 * cols] = '\n';
+            for (int r = 0; r < puzzle.getRows(); r++) {
+                for (int c = 0; c < cols; c++) {
+                    line[2 * c] = cells[r * cols + c];
+                    line[2 * c + 1] = ' ';
+                }
+                writer.write(line);
             }
         }
-        return null;
     }
 }
@@ -0,0 +1,447 @@
+package cli;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+import backend.algorithm.*;
+import backend.model.Board;
+import backend.model.CorpusParser;
+import backend.model.Parser;
+import backend.model.Puzzle;
+import backend.util.Heuristic;
+import backend.util.HeuristicBlocking;
+import backend.util.HeuristicManhattan;
+import backend.util.HeuristicPatternDatabase;
+import backend.util.HeuristicRecursiveBlocking;
+import backend.util.SolutionExporter;
+
+/**
+ * Solver batch tanpa GUI. Menyelesaikan banyak file puzzle secara paralel dan
+ * menulis satu baris JSON atau CSV per puzzle ke stdout, sesuai urutan selesai.
+ *
+ * <pre>
+ * BatchSolver [opsi] &lt;file|direktori|glob&gt;...
+ *   --algorithm  ucs|gbfs|astar|idastar|bidirectional|portfolio   (default: astar)
+ *   --heuristic  blocking|manhattan|recursive|pdb                 (default: blocking)
+ *   --pdb-cache  direktori cache pattern database                 (default: hanya di memori)
+ *   --threads    jumlah worker                                    (default: jumlah core)
+ *   --format     json|csv                                         (default: json)
+ *   --timeout-ms batas waktu per puzzle
+ *   --max-nodes  batas node per puzzle
+ *   --export-dir direktori tujuan file solusi                     (default: tidak diekspor)
+ *   --export-format text|moves|binary                             (default: text)
+ *   --corpus     tiap file berisi banyak puzzle (lihat {@link CorpusParser})
+ *   --max-cars   jumlah mobil maksimal per puzzle, selain P       (default: 24)
+ *   --cache      file cache solusi (lihat {@link SolutionCache})  (default: tanpa cache)
+ *   --cache-size jumlah entry cache di memori                     (default: 10000)
+ * </pre>
+ * Direktori dibaca untuk semua file {@code .txt} di dalamnya (tidak rekursif); glob
+ * seperti {@code "test/k_*.txt"} atau {@code "corpus/**.txt"} dicocokkan relatif
+ * terhadap bagian path sebelum wildcard pertama.
+ * Dengan {@code --corpus}, setiap puzzle di file korpus menjadi satu baris bernama
+ * {@code <file>:<baris>}; puzzle dibaca bertahap sehingga korpus besar tidak ditahan
+ * seluruhnya di memori.
+ * Solusi diekspor ke {@code <export-dir>/<nama puzzle><ekstensi format>} lewat
+ * {@link SolutionExporter}, sama seperti tombol Save di GUI.
+ * Dengan {@code --cache}, puzzle yang sudah pernah diselesaikan dengan algoritma dan
+ * heuristik yang sama dijawab dari cache; file cache dibaca ulang pada run berikutnya.
+ * Ringkasan per status (dan statistik cache) ditulis ke stderr.
+ */
+public class BatchSolver {
+    private static final String CSV_HEADER =
+        "file,status,steps,nodes,wall_ms,peak_frontier,algorithm,heuristic,error";
+
+    private final String algorithmName;
+    private final String heuristicName;
+    private final Path pdbCache;
+    private final String format;
+    private final SolveOptions options;
+    private Path exportDir;
+    private SolutionExporter.Format exportFormat = SolutionExporter.Format.TEXT;
+    private boolean corpus;
+    private int maxCars = Parser.DEFAULT_MAX_CARS;
+    private SolutionCache cache;
+    private final PrintStream out;
+    private final Map<String, Integer> summary = new TreeMap<>();
+
+    BatchSolver(String algorithmName, String heuristicName, Path pdbCache, String format,
+                SolveOptions options, PrintStream out) {
+        this.algorithmName = algorithmName;
+        this.heuristicName = heuristicName;
+        this.pdbCache = pdbCache;
+        this.format = format;
+        this.options = options;
+        this.out = out;
+    }
+
+    public static void main(String[] args) {
+        String algorithm = "astar";
+        String heuristic = "blocking";
+        String format = "json";
+        Path pdbCache = null;
+        Path exportDir = null;
+        SolutionExporter.Format exportFormat = SolutionExporter.Format.TEXT;
+        boolean corpus = false;
+        int maxCars = Parser.DEFAULT_MAX_CARS;
+        Path cacheFile = null;
+        int cacheSize = 10_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        SolveOptions.Builder options = SolveOptions.builder();
+        List<String> inputs = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--algorithm" -> algorithm = value(args, ++i).toLowerCase();
+                    case "--heuristic" -> heuristic = value(args, ++i).toLowerCase();
+                    case "--pdb-cache" -> pdbCache = Paths.get(value(args, ++i));
+                    case "--format" -> format = value(args, ++i).toLowerCase();
+                    case "--threads" -> threads = Integer.parseInt(value(args, ++i));
+                    case "--timeout-ms" -> options.timeout(Duration.ofMillis(Long.parseLong(value(args, ++i))));
+                    case "--max-nodes" -> options.maxNodes(Long.parseLong(value(args, ++i)));
+                    case "--export-dir" -> exportDir = Paths.get(value(args, ++i));
+                    case "--export-format" -> exportFormat = SolutionExporter.Format.fromName(value(args, ++i));
+                    case "--corpus" -> corpus = true;
+                    case "--max-cars" -> maxCars = Integer.parseInt(value(args, ++i));
+                    case "--cache" -> cacheFile = Paths.get(value(args, ++i));
+                    case "--cache-size" -> cacheSize = Integer.parseInt(value(args, ++i));
+                    default -> {
+                        if (args[i].startsWith("--")) {
+                            throw new IllegalArgumentException("Opsi tidak dikenal: " + args[i]);
+                        }
+                        inputs.add(args[i]);
+                    }
+                }
+            }
+            if (inputs.isEmpty()) {
+                throw new IllegalArgumentException("Tidak ada file puzzle");
+            }
+            if (threads < 1) {
+                throw new IllegalArgumentException("Jumlah thread harus minimal 1, ditemukan: " + threads);
+            }
+            if (!format.equals("json") && !format.equals("csv")) {
+                throw new IllegalArgumentException("Format harus json atau csv, ditemukan: " + format);
+            }
+            if (cacheSize < 1) {
+                throw new IllegalArgumentException("Ukuran cache harus minimal 1, ditemukan: " + cacheSize);
+            }
+            if (maxCars < 1 || maxCars > Puzzle.MAX_VEHICLES) {
+                throw new IllegalArgumentException(
+                    "Jumlah mobil maksimal harus antara 1 dan " + Puzzle.MAX_VEHICLES + ", ditemukan: " + maxCars);
+            }
+            createAlgorithm(algorithm, createHeuristic(heuristic, null));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println("Usage: BatchSolver [--algorithm ucs|gbfs|astar|idastar|bidirectional|portfolio]"
+                + " [--heuristic blocking|manhattan|recursive|pdb] [--pdb-cache DIR]"
+                + " [--threads N] [--format json|csv]"
+                + " [--timeout-ms N] [--max-nodes N] [--export-dir DIR] [--export-format text|moves|binary]"
+                + " [--corpus] [--max-cars N] [--cache FILE] [--cache-size N] <file|dir|glob>...");
+            System.exit(2);
+            return;
+        }
+
+        try {
+            List<Path> files = expandInputs(inputs);
+            BatchSolver solver = new BatchSolver(algorithm, heuristic, pdbCache, format, options.build(), System.out);
+            if (exportDir != null) {
+                Files.createDirectories(exportDir);
+                solver.exportTo(exportDir, exportFormat);
+            }
+            solver.corpus = corpus;
+            solver.maxCars = maxCars;
+            if (cacheFile != null) {
+                solver.cache = new SolutionCache(cacheSize, cacheFile);
+            }
+            long start = System.nanoTime();
+            int puzzles;
+            try {
+                puzzles = solver.run(files, threads);
+            } finally {
+                if (solver.cache != null) solver.cache.close();
+            }
+            System.err.printf("Solved %d puzzle(s) in %d ms on %d thread(s): %s%n",
+                puzzles, (System.nanoTime() - start) / 1_000_000L, threads, solver.summary);
+            if (solver.cache != null) {
+                System.err.println("Cache: " + solver.cache.getStats());
+            }
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Opsi " + args[i - 1] + " membutuhkan nilai");
+        }
+        return args[i];
+    }
+
+    /**
+     * Mengaktifkan export solusi tiap puzzle yang berhasil diselesaikan.
+     * @param dir Direktori tujuan
+     * @param exportFormat Format file solusi
+     */
+    void exportTo(Path dir, SolutionExporter.Format exportFormat) {
+        this.exportDir = dir;
+        this.exportFormat = exportFormat;
+    }
+
+    /**
+     * Menyelesaikan semua file di worker pool berukuran tetap. Jumlah task yang
+     * berjalan atau mengantre dibatasi semaphore sehingga ribuan file tidak membuat
+     * ribuan task sekaligus; thread pembaca menunggu slot kosong alih-alih ikut
+     * menyelesaikan puzzle, agar worker tidak menganggur.
+     * @return Jumlah puzzle yang diproses
+     */
+    int run(List<Path> files, int threads) {
+        if (format.equals("csv")) {
+            out.println(CSV_HEADER);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "batch-solver");
+            t.setDaemon(true);
+            return t;
+        });
+        Semaphore slots = new Semaphore(threads * 4);
+
+        int puzzles = 0;
+        for (Path file : files) {
+            if (!corpus) {
+                submit(pool, slots, () -> report(solve(file.toString(), stem(file), () -> Parser.parse(file.toString(), maxCars))));
+                puzzles++;
+                continue;
+            }
+            try {
+                puzzles += CorpusParser.forEach(file, maxCars, entry -> submit(pool, slots, () -> report(solve(
+                    file + ":" + entry.getLine(), stem(file) + "-" + entry.getLine(), () -> {
+                        if (!entry.isValid()) throw entry.getError();
+                        return entry.getBoard();
+                    }))));
+            } catch (IOException e) {
+                Row row = new Row(file.toString());
+                row.status = "ERROR";
+                row.error = e.getMessage();
+                report(row);
+                puzzles++;
+            }
+        }
+        pool.shutdown();
+        try {
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pool.shutdownNow();
+        }
+        out.flush();
+        return puzzles;
+    }
+
+    // Menunggu slot kosong sebelum task masuk pool; slot dilepas saat task selesai
+    private static void submit(ExecutorService pool, Semaphore slots, Runnable task) {
+        slots.acquireUninterruptibly();
+        try {
+            pool.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            slots.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Menyelesaikan satu puzzle.
+     * @param name Nama puzzle di output
+     * @param exportName Nama file solusi tanpa ekstensi
+     * @param loader Pembaca papan awal; exception-nya dilaporkan sebagai ERROR
+     */
+    private Row solve(String name, String exportName, Callable<Board> loader) {
+        long start = System.nanoTime();
+        Row row = new Row(name);
+        try {
+            Board board = loader.call();
+            Heuristic heuristic = createHeuristic(heuristicName, pdbCache);
+            PathfindingAlgorithm algorithm = createAlgorithm(algorithmName, heuristic);
+            if (cache != null) {
+                algorithm = new CachingSolver(algorithm, cache);
+            }
+            SolveResult result = algorithm.solve(board, heuristic, options);
+
+            row.status = result.getStatus().name();
+            row.steps = result.getSteps();
+            row.nodes = result.getNodesVisited();
+            row.peakFrontier = result.getPeakFrontier();
+            row.algorithm = algorithm.getName();
+            row.heuristic = algorithm.getHeuristicName();
+            if (exportDir != null && result.isSolved()) {
+                export(exportName, result, algorithm, row);
+            }
+        } catch (OutOfMemoryError e) {
+            row.status = "ERROR";
+            row.error = "Kehabisan memori";
+        } catch (Exception e) {
+            row.status = "ERROR";
+            row.error = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+        }
+        row.wallMillis = (System.nanoTime() - start) / 1_000_000L;
+        return row;
+    }
+
+    private static String stem(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(".txt") ? name.substring(0, name.length() - 4) : name;
+    }
+
+    private void export(String name, SolveResult result, PathfindingAlgorithm algorithm, Row row) {
+        Path target = exportDir.resolve(name + exportFormat.getExtension());
+        try {
+            SolutionExporter.export(result.getSolution(), algorithm.getName(), algorithm.getHeuristicName(),
+                result.getNodesVisited(), result.getExecutionTime(), exportFormat, target);
+        } catch (IOException e) {
+            row.error = "Gagal export ke " + target + ": " + e.getMessage();
+        }
+    }
+
+    private synchronized void report(Row row) {
+        summary.merge(row.status, 1, Integer::sum);
+        out.println(format.equals("csv") ? row.toCsv() : row.toJson());
+    }
+
+    static Heuristic createHeuristic(String name, Path pdbCache) {
+        return switch (name) {
+            case "blocking" -> new HeuristicBlocking();
+            case "manhattan" -> new HeuristicManhattan();
+            case "recursive" -> new HeuristicRecursiveBlocking();
+            case "pdb" -> new HeuristicPatternDatabase(pdbCache);
+            default -> throw new IllegalArgumentException("Heuristik tidak dikenal: " + name);
+        };
+    }
+
+    static PathfindingAlgorithm createAlgorithm(String name, Heuristic heuristic) {
+        return switch (name) {
+            case "ucs" -> new UCS();
+            case "gbfs" -> new GBFS(heuristic);
+            case "astar" -> new AStar(heuristic);
+            case "idastar" -> new IDAStar(heuristic);
+            case "bidirectional" -> new BidirectionalSearch();
+            case "portfolio" -> new PortfolioSolver();
+            default -> throw new IllegalArgumentException("Algoritma tidak dikenal: " + name);
+        };
+    }
+
+    /**
+     * Mengubah argumen file, direktori, atau glob menjadi daftar file yang terurut.
+     */
+    static List<Path> expandInputs(List<String> inputs) throws IOException {
+        Set<Path> files = new LinkedHashSet<>();
+        for (String input : inputs) {
+            int wildcard = firstWildcard(input);
+            if (wildcard < 0) {
+                Path path = Paths.get(input);
+                if (Files.isDirectory(path)) {
+                    files.addAll(walk(path, 1, p -> p.getFileName().toString().endsWith(".txt")));
+                } else if (Files.isRegularFile(path)) {
+                    files.add(path);
+                } else {
+                    throw new IOException("File tidak ditemukan: " + input);
+                }
+                continue;
+            }
+
+            // Direktori dasar = bagian path sebelum wildcard pertama
+            int slash = input.lastIndexOf('/', wildcard);
+            Path base = slash < 0 ? Paths.get(".") : Paths.get(input.substring(0, slash + 1));
+            String pattern = slash < 0 ? input : input.substring(slash + 1);
+            PathMatcher matcher = base.getFileSystem().getPathMatcher("glob:" + pattern);
+            List<Path> matched = walk(base, Integer.MAX_VALUE, p -> matcher.matches(base.relativize(p)));
+            if (matched.isEmpty()) {
+                throw new IOException("Tidak ada file yang cocok dengan " + input);
+            }
+            files.addAll(matched);
+        }
+        return new ArrayList<>(files);
+    }
+
+    private static int firstWildcard(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            if ("*?[{".indexOf(input.charAt(i)) >= 0) return i;
+        }
+        return -1;
+    }
+
+    private static List<Path> walk(Path base, int depth, java.util.function.Predicate<Path> filter) throws IOException {
+        try (Stream<Path> stream = Files.walk(base, depth)) {
+            return stream.filter(Files::isRegularFile).filter(filter).sorted().toList();
+        }
+    }
+
+    private static final class Row {
+        final String file;
+        String status;
+        int steps = -1;
+        int nodes;
+        long wallMillis;
+        int peakFrontier;
+        String algorithm = "";
+        String heuristic = "";
+        String error = "";
+
+        Row(String file) {
+            this.file = file;
+        }
+
+        String toJson() {
+            return "{\"file\":" + jsonString(file)
+                + ",\"status\":\"" + status + "\""
+                + ",\"steps\":" + steps
+                + ",\"nodes\":" + nodes
+                + ",\"wall_ms\":" + wallMillis
+                + ",\"peak_frontier\":" + peakFrontier
+                + ",\"algorithm\":" + jsonString(algorithm)
+                + ",\"heuristic\":" + jsonString(heuristic)
+                + (error.isEmpty() ? "" : ",\"error\":" + jsonString(error))
+                + "}";
+        }
+
+        String toCsv() {
+            return String.join(",", csvField(file), status, Integer.toString(steps), Integer.toString(nodes),
+                Long.toString(wallMillis), Integer.toString(peakFrontier),
+                csvField(algorithm), csvField(heuristic), csvField(error));
+        }
+
+        private static String jsonString(String s) {
+            StringBuilder sb = new StringBuilder("\"");
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '"' -> sb.append("\\\"");
+                    case '\\' -> sb.append("\\\\");
+                    case '\n' -> sb.append("\\n");
+                    case '\r' -> sb.append("\\r");
+                    case '\t' -> sb.append("\\t");
+                    default -> {
+                        if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                        else sb.append(c);
+                    }
+                }
+            }
+            return sb.append('"').toString();
+        }
+
+        private static String csvField(String s) {
+            if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0) return s;
+            return "\"" + s.replace("\"", "\"\"") + "\"";
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package cli;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import backend.algorithm.PuzzleGenerator;
+import backend.model.CorpusParser;
+import backend.model.Parser;
+
+/**
+ * Membuat korpus puzzle sulit yang reproducible dengan {@link PuzzleGenerator}.
+ *
+ * <pre>
+ * GenerateCorpus [opsi]
+ *   --size       ukuran papan RxC                                 (default: 6x6)
+ *   --cars       jumlah mobil selain P                            (default: 12)
+ *   --count      jumlah puzzle yang disimpan                      (default: 10)
+ *   --min-moves  panjang solusi optimal minimal                   (default: 0, simpan yang terpanjang)
+ *   --attempts   jumlah papan acak yang dicoba                    (default: 1000)
+ *   --max-states ukuran cluster maksimal per percobaan            (default: 1048576)
+ *   --seed       seed generator                                   (default: 0)
+ *   --out        direktori tujuan                                 (default: generated)
+ *   --corpus     tulis semua puzzle ke satu file korpus ini
+ * </pre>
+ * Tanpa {@code --corpus}, tiap puzzle ditulis ke {@code <out>/gen-<seed>-<nn>.txt}
+ * dengan format file puzzle biasa, urut dari solusi terpanjang. Dengan {@code --corpus},
+ * puzzle dipisahkan baris kosong sehingga dapat dibaca {@link CorpusParser} dan
+ * {@code BatchSolver --corpus}. File ditulis dengan charset default, sama seperti yang
+ * dibaca {@link Parser}. Satu baris per puzzle (file, langkah optimal, ukuran
+ * cluster) ditulis ke stdout.
+ */
+public class GenerateCorpus {
+
+    public static void main(String[] args) {
+        PuzzleGenerator.Builder builder = PuzzleGenerator.builder();
+        int count = 10;
+        long seed = 0;
+        Path out = Paths.get("generated");
+        Path corpus = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--size" -> {
+                        String[] size = value(args, ++i).toLowerCase().split("x");
+                        if (size.length != 2) {
+                            throw new IllegalArgumentException("Ukuran harus berformat RxC, ditemukan: " + args[i]);
+                        }
+                        builder.size(Integer.parseInt(size[0]), Integer.parseInt(size[1]));
+                    }
+                    case "--cars" -> builder.cars(Integer.parseInt(value(args, ++i)));
+                    case "--count" -> count = Integer.parseInt(value(args, ++i));
+                    case "--min-moves" -> builder.minMoves(Integer.parseInt(value(args, ++i)));
+                    case "--attempts" -> builder.attempts(Integer.parseInt(value(args, ++i)));
+                    case "--max-states" -> builder.maxStates(Integer.parseInt(value(args, ++i)));
+                    case "--seed" -> seed = Long.parseLong(value(args, ++i));
+                    case "--out" -> out = Paths.get(value(args, ++i));
+                    case "--corpus" -> corpus = Paths.get(value(args, ++i));
+                    default -> throw new IllegalArgumentException("Opsi tidak dikenal: " + args[i]);
+                }
+            }
+            if (count < 1) {
+                throw new IllegalArgumentException("Jumlah puzzle harus minimal 1, ditemukan: " + count);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println("Usage: GenerateCorpus [--size RxC] [--cars N] [--count N] [--min-moves N]"
+                + " [--attempts N] [--max-states N] [--seed N] [--out DIR] [--corpus FILE]");
+            System.exit(2);
+            return;
+        }
+
+        long start = System.nanoTime();
+        List<PuzzleGenerator.Generated> puzzles = builder.seed(seed).build().generate(count);
+        try {
+            if (corpus != null) {
+                writeCorpus(puzzles, corpus);
+            } else {
+                writeFiles(puzzles, out, seed);
+            }
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+        System.err.printf("Generated %d puzzle(s) in %d ms%n",
+            puzzles.size(), (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Opsi " + args[i - 1] + " membutuhkan nilai");
+        }
+        return args[i];
+    }
+
+    private static void writeFiles(List<PuzzleGenerator.Generated> puzzles, Path dir, long seed) throws IOException {
+        Files.createDirectories(dir);
+        int width = Math.max(2, String.valueOf(puzzles.size()).length());
+        for (int i = 0; i < puzzles.size(); i++) {
+            PuzzleGenerator.Generated puzzle = puzzles.get(i);
+            Path file = dir.resolve(String.format("gen-%d-%0" + width + "d.txt", seed, i + 1));
+            Files.writeString(file, Parser.format(puzzle.getBoard()), Charset.defaultCharset());
+            report(file.toString(), puzzle);
+        }
+    }
+
+    private static void writeCorpus(List<PuzzleGenerator.Generated> puzzles, Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        int line = 1;
+        try (Writer writer = Files.newBufferedWriter(file, Charset.defaultCharset())) {
+            for (int i = 0; i < puzzles.size(); i++) {
+                if (i > 0) {
+                    writer.write('\n');
+                    line++;
+                }
+                String text = Parser.format(puzzles.get(i).getBoard());
+                writer.write(text);
+                report(file + ":" + line, puzzles.get(i));
+                line += text.split("\n", -1).length - 1;
+            }
+        }
+    }
+
+    private static void report(String name, PuzzleGenerator.Generated puzzle) {
+        System.out.printf("%s moves=%d states=%d%n", name, puzzle.getOptimalMoves(), puzzle.getClusterSize());
+    }
+}
@@ -0,0 +1,127 @@
+package driver.backend;
+
+import java.util.*;
+
+import backend.model.Board;
+import backend.model.Car;
+import backend.model.Parser;
+
+/**
+ * Benchmark skala papan: untuk papan acak dari 6x6 hingga 32x32 dengan jumlah mobil
+ * yang ikut bertambah, mengukur memori per state dan expansions/detik dari
+ * {@link Board#generateNeighbors()} pada sampel state hasil BFS.
+ */
+public class BenchmarkLargeBoard {
+    // {baris, kolom, jumlah mobil}
+    private static final int[][] SIZES = {
+        {6, 6, 12}, {8, 8, 20}, {12, 12, 40}, {16, 16, 80}, {24, 24, 160}, {32, 32, 300}
+    };
+    private static final int SAMPLE_STATES = 20000;
+    private static final long WARMUP_MS = 1000;
+    private static final long MEASURE_MS = 2000;
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        for (int[] size : SIZES) {
+            Board initialBoard = randomBoard(size[0], size[1], size[2], new Random(SEED));
+            List<Board> sample = sampleStates(initialBoard);
+            long bytesPerState = bytesPerState(initialBoard);
+
+            run(sample, WARMUP_MS);
+            long[] result = run(sample, MEASURE_MS);
+
+            double seconds = result[2] / 1e9;
+            System.out.printf("%2dx%-2d cars=%3d  states=%5d  bytes/state=%6d  successors/s=%,14.0f  expansions/s=%,12.0f%n",
+                    size[0], size[1], initialBoard.getPuzzle().getCarCount(), sample.size(), bytesPerState,
+                    result[1] / seconds, result[0] / seconds);
+        }
+    }
+
+    /*
+     * P horizontal di baris tengah, exit di kanan; mobil lain (panjang 2 atau 3) ditaruh
+     * acak pada sel kosong. Id setelah 'Z' memakai karakter berikutnya, melewati 'K', 'P',
+     * '.' dan karakter kontrol.
+     */
+    static Board randomBoard(int rows, int cols, int carCount, Random rnd) {
+        boolean[][] used = new boolean[rows][cols];
+        List<Car> cars = new ArrayList<>();
+        int playerRow = rows / 2;
+        cars.add(new Car('P', true, 2, playerRow, 0));
+        used[playerRow][0] = used[playerRow][1] = true;
+
+        char id = 'A';
+        for (int tries = 0; cars.size() < carCount && tries < 100 * carCount; tries++) {
+            boolean horizontal = rnd.nextBoolean();
+            int length = 2 + rnd.nextInt(2);
+            int row = rnd.nextInt(horizontal ? rows : rows - length + 1);
+            int col = rnd.nextInt(horizontal ? cols - length + 1 : cols);
+            if (horizontal && row == playerRow) continue;
+
+            boolean free = true;
+            for (int k = 0; k < length && free; k++) {
+                free = !used[horizontal ? row : row + k][horizontal ? col + k : col];
+            }
+            if (!free) continue;
+            for (int k = 0; k < length; k++) {
+                used[horizontal ? row : row + k][horizontal ? col + k : col] = true;
+            }
+
+            while (id == 'K' || id == 'P' || id == '.' || Character.isISOControl(id)) id++;
+            cars.add(new Car(id++, horizontal, length, row, col));
+        }
+        return Parser.createBoard(rows, cols, cars, playerRow, cols);
+    }
+
+    // Ambil sampel state dengan BFS dari papan awal
+    private static List<Board> sampleStates(Board initialBoard) {
+        List<Board> sample = new ArrayList<>();
+        Set<Board> seen = new HashSet<>();
+        Deque<Board> queue = new ArrayDeque<>();
+        queue.add(initialBoard);
+        seen.add(initialBoard);
+
+        while (!queue.isEmpty() && sample.size() < SAMPLE_STATES) {
+            Board b = queue.poll();
+            sample.add(b);
+            for (Board n : b.generateNeighbors()) {
+                if (seen.add(n)) queue.add(n);
+            }
+        }
+        return sample;
+    }
+
+    // Selisih heap setelah GC dengan dan tanpa sampel; metadata Puzzle dipakai bersama sehingga tidak ikut terhitung
+    private static long bytesPerState(Board initialBoard) {
+        long before = usedHeap();
+        List<Board> sample = sampleStates(initialBoard);
+        long after = usedHeap();
+        long bytes = (after - before) / sample.size();
+        sample.clear();
+        return bytes;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Kembalikan {expansions, successors, nanos}
+    private static long[] run(List<Board> sample, long durationMs) {
+        long expansions = 0;
+        long successors = 0;
+        long start = System.nanoTime();
+        long deadline = start + durationMs * 1_000_000L;
+        long now;
+        do {
+            for (Board b : sample) {
+                successors += b.generateNeighbors().size();
+            }
+            expansions += sample.size();
+            now = System.nanoTime();
+        } while (now < deadline);
+        return new long[] { expansions, successors, now - start };
+    }
+}
@@ -0,0 +1,76 @@
+package driver.backend;
+
+import java.io.IOException;
+import java.util.*;
+
+import backend.exception.InvalidInputException;
+import backend.model.Board;
+import backend.model.Parser;
+
+/**
+ * Microbenchmark pembangkitan successor: mengukur successors/detik dari
+ * {@link Board#generateNeighbors(long[])} pada sampel state tiap puzzle.
+ */
+public class BenchmarkMoveGen {
+    private static final int SAMPLE_STATES = 2000;
+    private static final long WARMUP_MS = 1000;
+    private static final long MEASURE_MS = 2000;
+
+    public static void main(String[] args) {
+        String[] files = args.length > 0 ? args : new String[] {
+            "test/test1.txt", "test/test2.txt", "test/test3.txt",
+            "test/test4.txt", "test/test5.txt", "test/test6.txt"
+        };
+
+        for (String filePath : files) {
+            try {
+                Board initialBoard = Parser.parse(filePath);
+                List<Board> sample = sampleStates(initialBoard);
+
+                run(sample, WARMUP_MS);
+                long[] result = run(sample, MEASURE_MS);
+
+                double seconds = result[2] / 1e9;
+                System.out.printf("%-20s states=%5d  successors/s=%,14.0f  expansions/s=%,12.0f%n",
+                        filePath, sample.size(), result[1] / seconds, result[0] / seconds);
+            } catch (IOException | InvalidInputException e) {
+                System.err.println("Error parsing " + filePath + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // Ambil sampel state dengan BFS dari papan awal
+    private static List<Board> sampleStates(Board initialBoard) {
+        List<Board> sample = new ArrayList<>();
+        Set<Board> seen = new HashSet<>();
+        Deque<Board> queue = new ArrayDeque<>();
+        queue.add(initialBoard);
+        seen.add(initialBoard);
+
+        while (!queue.isEmpty() && sample.size() < SAMPLE_STATES) {
+            Board b = queue.poll();
+            sample.add(b);
+            for (Board n : b.generateNeighbors(b.getZobristTable())) {
+                if (seen.add(n)) queue.add(n);
+            }
+        }
+        return sample;
+    }
+
+    // Kembalikan {expansions, successors, nanos}
+    private static long[] run(List<Board> sample, long durationMs) {
+        long expansions = 0;
+        long successors = 0;
+        long start = System.nanoTime();
+        long deadline = start + durationMs * 1_000_000L;
+        long now;
+        do {
+            for (Board b : sample) {
+                successors += b.generateNeighbors(b.getZobristTable()).size();
+            }
+            expansions += sample.size();
+            now = System.nanoTime();
+        } while (now < deadline);
+        return new long[] { expansions, successors, now - start };
+    }
+}
@@ -0,0 +1,59 @@
+package driver.backend;
+
+import java.io.IOException;
+
+import backend.algorithm.AStar;
+import backend.algorithm.SolveOptions;
+import backend.algorithm.SolveResult;
+import backend.exception.InvalidInputException;
+import backend.model.Board;
+import backend.model.Parser;
+import backend.util.Heuristic;
+import backend.util.HeuristicBlocking;
+import backend.util.HeuristicManhattan;
+import backend.util.HeuristicPatternDatabase;
+import backend.util.HeuristicRecursiveBlocking;
+
+/**
+ * Membandingkan heuristik pada A*: panjang solusi, node yang diekspansi, dan waktu
+ * per puzzle. Manhattan tidak admissible, jadi panjang solusinya bisa lebih dari optimal.
+ */
+public class CompareHeuristics {
+    public static void main(String[] args) {
+        String[] files = args.length > 0 ? args : new String[] {
+            "test/test1.txt", "test/test2.txt", "test/test3.txt",
+            "test/test4.txt", "test/test5.txt", "test/test6.txt",
+            "test/k_atas.txt", "test/k_bawah.txt", "test/k_kanan.txt", "test/k_kiri.txt"
+        };
+        Heuristic[] heuristics = {
+            new HeuristicBlocking(), new HeuristicManhattan(), new HeuristicRecursiveBlocking(),
+            new HeuristicPatternDatabase()
+        };
+
+        System.out.printf("%-20s", "puzzle");
+        for (Heuristic h : heuristics) {
+            System.out.printf(" | %-34s", h.getName());
+        }
+        System.out.println();
+
+        for (String filePath : files) {
+            try {
+                Board initialBoard = Parser.parse(filePath);
+                System.out.printf("%-20s", filePath);
+                for (Heuristic h : heuristics) {
+                    SolveResult result = new AStar(h).solve(initialBoard, h, SolveOptions.unlimited());
+                    String cell = result.isSolved()
+                        ? String.format("%d steps, %,d nodes, %d ms", result.getSteps(),
+                            result.getNodesVisited(), result.getExecutionTime())
+                        : result.getStatus().name();
+                    System.out.printf(" | %-34s", cell);
+                }
+                System.out.println();
+            } catch (IOException | InvalidInputException e) {
+                System.err.println("Error parsing " + filePath + ": " + e.getMessage());
+            } catch (OutOfMemoryError e) {
+                System.err.println("Kehabisan memori pada " + filePath);
+            }
+        }
+    }
+}
@@ -15,7 +15,7 @@ public class BoardView extends Pane {
     private double cellSize = 30.0;
     private final Map<Character, Rectangle> carRectangles = new HashMap<>();
     private Board currentBoard;
-    private List<Board> solution;
+    private Solution solution;
     private final IntegerProperty currentStep = new SimpleIntegerProperty(0);
     private Timeline animation;
     private Rectangle exitMarker;
@@ -47,38 +47,42 @@ public class BoardView extends Pane {
         }
     }
 
-    public void setSolution(List<Board> solution) {
+    /**
+     * Menampilkan solusi mulai dari papan awal. Papan tiap langkah dibangun
+     * dari daftar langkah saat ditampilkan.
+     */
+    public void setSolution(Solution solution) {
         this.solution = solution;
         currentStep.set(0);
-        updateBoardState(solution.get(0));
+        updateBoardState(solution.getInitialBoard());
     }
 
     public void nextStep() {
-        if (solution != null && currentStep.get() < solution.size() - 1) {
+        if (solution != null && currentStep.get() < solution.length()) {
             currentStep.set(currentStep.get() + 1);
-            updateBoardState(solution.get(currentStep.get()));
+            updateBoardState(solution.getBoard(currentStep.get()));
         }
     }
 
     public void previousStep() {
         if (solution != null && currentStep.get() > 0) {
             currentStep.set(currentStep.get() - 1);
-            updateBoardState(solution.get(currentStep.get()));
+            updateBoardState(solution.getBoard(currentStep.get()));
         }
     }
 
     public void goToStep(int step) {
-        if (solution != null && step >= 0 && step < solution.size() && step != currentStep.get()) {
+        if (solution != null && step >= 0 && step <= solution.length() && step != currentStep.get()) {
             currentStep.set(step);
-            updateBoardState(solution.get(step));
+            updateBoardState(solution.getBoard(step));
         }
     }
 
     public void playAnimation() {
-        if (solution == null || solution.size() <= 1) return;
+        if (solution == null || solution.length() == 0) return;
         if (animation != null) animation.stop();
         animation = new Timeline(new KeyFrame(Duration.seconds(0.8), e -> nextStep()));
-        animation.setCycleCount(solution.size() - currentStep.get() - 1);
+        animation.setCycleCount(solution.length() - currentStep.get());
         animation.play();
     }
 
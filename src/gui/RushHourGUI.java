@@ -7,7 +7,11 @@ import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.*;
 import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.*;
 
 import backend.model.*;
 import backend.util.*;
@@ -15,6 +19,9 @@ import backend.exception.*;
 import backend.algorithm.*;
 
 public class RushHourGUI extends Application {
+    // Pattern database disimpan di home agar tidak dibangun ulang tiap solve
+    private static final Path PDB_CACHE = Paths.get(System.getProperty("user.home"), ".rushhour", "pdb");
+
     private BoardView boardView;
     private File selectedFile;
     private Board board;
@@ -24,8 +31,16 @@ public class RushHourGUI extends Application {
     private ComboBox<String> algorithmCombo;
     private ComboBox<String> heuristicCombo;
     private Label statsLabel;
+    private Button fileButton;
+    private Button cancelButton;
+    private CancellationToken activeCancellation;
+    private final ExecutorService solverExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "rush-hour-solver");
+        t.setDaemon(true);
+        return t;
+    });
     private HBox animationControls;
-    private List<Board> solution;
+    private Solution solution;
     private PathfindingAlgorithm lastAlgorithm;
 
     @Override
@@ -67,7 +82,7 @@ public class RushHourGUI extends Application {
         Label titleLabel = new Label("Rush Hour Puzzle Solver");
         titleLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold;");
 
-        Button fileButton = new Button("Select Puzzle File");
+        fileButton = new Button("Select Puzzle File");
         fileButton.setStyle("-fx-background-color: #4285f4; -fx-text-fill: white; -fx-font-weight: bold;");
 
         fileNameLabel = new Label("No file selected");
@@ -75,18 +90,20 @@ public class RushHourGUI extends Application {
 
         Label algoLabel = new Label("Select Algorithm:");
         algorithmCombo = new ComboBox<>();
-        algorithmCombo.getItems().addAll("Greedy Best First Search", "Uniform Cost Search (UCS)", "A* Search");
+        algorithmCombo.getItems().addAll("Greedy Best First Search", "Uniform Cost Search (UCS)", "A* Search",
+            "IDA* Search", "Bidirectional BFS", "Portfolio (race)");
         algorithmCombo.setValue("A* Search");
         algorithmCombo.setPrefWidth(200);
 
         Label heuristicLabel = new Label("Select Heuristic:");
         heuristicCombo = new ComboBox<>();
-        heuristicCombo.getItems().addAll("Manhattan Distance", "Blocking Cars");
+        heuristicCombo.getItems().addAll("Manhattan Distance", "Blocking Cars", "Recursive Blocking",
+            "Pattern Database");
         heuristicCombo.setValue("Manhattan Distance");
         heuristicCombo.setPrefWidth(200);
 
         algorithmCombo.valueProperty().addListener((obs, oldVal, newVal) -> {
-            heuristicCombo.setDisable("Uniform Cost Search (UCS)".equals(newVal));
+            heuristicCombo.setDisable(!usesHeuristic(newVal));
         });
 
         runButton = new Button("Run Solver");
@@ -94,6 +111,11 @@ public class RushHourGUI extends Application {
         runButton.setPrefWidth(200);
         runButton.setDisable(true);
 
+        cancelButton = new Button("Cancel");
+        cancelButton.setStyle("-fx-background-color: #f44336; -fx-text-fill: white; -fx-font-weight: bold;");
+        cancelButton.setPrefWidth(200);
+        cancelButton.setDisable(true);
+
         saveButton = new Button("Save Solution");
         saveButton.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-font-weight: bold;");
         saveButton.setPrefWidth(200);
@@ -111,7 +133,7 @@ public class RushHourGUI extends Application {
             fileButton, fileNameLabel, new Separator(),
             algoLabel, algorithmCombo, new Separator(),
             heuristicLabel, heuristicCombo,
-            runButton, saveButton, new Separator(), statsBox
+            runButton, cancelButton, saveButton, new Separator(), statsBox
         );
 
         fileButton.setOnAction(e -> {
@@ -135,82 +157,48 @@ public class RushHourGUI extends Application {
             }
         });
 
-        runButton.setOnAction(e -> {
-            if (board == null) return;
-            String algoName = algorithmCombo.getValue();
-            Heuristic heuristic = !"Uniform Cost Search (UCS)".equals(algoName)
-                ? getHeuristicByName(heuristicCombo.getValue()) : null;
-
-            PathfindingAlgorithm algorithm = getAlgorithmByName(algoName, heuristic);
-            if (algorithm != null) {
-                try {
-                    statsLabel.setText("Running algorithm...");
-                    solution = algorithm.solve(board, heuristic);
-                    lastAlgorithm = algorithm;
-
-                    if (solution == null || solution.isEmpty()) {
-                        statsLabel.setText(String.format(
-                            "Algorithm: %s\nHeuristic: %s\nNodes visited: %d\nExecution time: %d ms\nNo solution found.",
-                            algorithm.getName(),
-                            algorithm.getHeuristicName(),
-                            algorithm.getNodesVisited(),
-                            algorithm.getExecutionTime()
-                        ));
-                        showError("No Solution", "No solution could be found", "The puzzle has no valid solution path.");
-                        saveButton.setDisable(true);
-                        return;
-                    }
-
-                    statsLabel.setText(String.format(
-                        "Algorithm: %s\nHeuristic: %s\nNodes visited: %d\nExecution time: %d ms\nSolution steps: %d",
-                        algorithm.getName(),
-                        algorithm.getHeuristicName(),
-                        algorithm.getNodesVisited(),
-                        algorithm.getExecutionTime(),
-                        solution.size() - 1
-                    ));
-
-                    enableAnimationControls();
-                    setupSlider(solution.size());
-                    boardView.setSolution(solution);
-                    saveButton.setDisable(false);
-
-                } catch (Exception ex) {
-                    statsLabel.setText("Error: " + ex.getMessage());
-                    showError("Algorithm Error", "Error running algorithm", ex.getMessage());
-                }
+        runButton.setOnAction(e -> startSolve());
+        cancelButton.setOnAction(e -> {
+            if (activeCancellation != null) {
+                activeCancellation.cancel();
+                statsLabel.setText("Cancelling...");
             }
         });
 
         saveButton.setOnAction(e -> {
-            if (board == null || solution == null || solution.isEmpty()) {
+            if (board == null || solution == null) {
                 showError("Save Error", "Nothing to save", "You need to find a solution first before saving.");
                 return;
             }
 
             FileChooser chooser = new FileChooser();
             chooser.setTitle("Save Solution");
-            chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Text Files", "*.txt"));
+            FileChooser.ExtensionFilter textFilter = new FileChooser.ExtensionFilter("Text Files", "*.txt");
+            FileChooser.ExtensionFilter movesFilter = new FileChooser.ExtensionFilter("Moves Only", "*.moves");
+            FileChooser.ExtensionFilter binaryFilter = new FileChooser.ExtensionFilter("Binary Solution", "*.rhs");
+            chooser.getExtensionFilters().addAll(textFilter, movesFilter, binaryFilter);
             chooser.setInitialFileName("rush_hour_solution.txt");
             File saveFile = chooser.showSaveDialog(stage);
 
             if (saveFile != null) {
                 try {
+                    FileChooser.ExtensionFilter selected = chooser.getSelectedExtensionFilter();
+                    SolutionExporter.Format format = selected == movesFilter ? SolutionExporter.Format.MOVES
+                        : selected == binaryFilter ? SolutionExporter.Format.BINARY
+                        : SolutionExporter.Format.TEXT;
                     String algo = algorithmCombo.getValue();
-                    String heur = "Uniform Cost Search (UCS)".equals(algo) ? "None" : heuristicCombo.getValue();
-                    boolean success = exportSolution(
+                    String heur = usesHeuristic(algo) ? heuristicCombo.getValue() : "None";
+                    SolutionExporter.export(
                         solution, algo, heur,
                         lastAlgorithm.getNodesVisited(),
                         lastAlgorithm.getExecutionTime(),
-                        saveFile
+                        format, saveFile.toPath()
                     );
-                    if (success) {
-                        Alert alert = new Alert(Alert.AlertType.INFORMATION);
-                        alert.setTitle("Save Successful");
-                        alert.setHeaderText(null);
-                        alert.setContentText("Solution saved successfully to: " + saveFile.getPath());
-                        alert.showAndWait();
-                    }
+                    Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                    alert.setTitle("Save Successful");
+                    alert.setHeaderText(null);
+                    alert.setContentText("Solution saved successfully to: " + saveFile.getPath());
+                    alert.showAndWait();
                 } catch (Exception ex) {
                     showError("Save Error", "Error saving solution", ex.getMessage());
                 }
@@ -220,6 +208,98 @@ public class RushHourGUI extends Application {
         return panel;
     }
 
+    /**
+     * Menjalankan solver di thread latar. Progress dikirim ke statsLabel lewat
+     * Platform.runLater, dan solusi baru diserahkan ke BoardView setelah selesai.
+     */
+    private void startSolve() {
+        if (board == null || activeCancellation != null) return;
+        String algoName = algorithmCombo.getValue();
+        Heuristic heuristic = usesHeuristic(algoName)
+            ? getHeuristicByName(heuristicCombo.getValue()) : null;
+
+        PathfindingAlgorithm algorithm = getAlgorithmByName(algoName, heuristic);
+        if (algorithm == null) return;
+
+        CancellationToken cancellation = new CancellationToken();
+        SolveOptions options = SolveOptions.builder()
+            .cancellation(cancellation)
+            .onProgress(progress -> Platform.runLater(() -> {
+                if (activeCancellation == cancellation && !cancellation.isCancelled()) {
+                    statsLabel.setText(String.format(
+                        "Running %s...\nNodes expanded: %d\nFrontier size: %d\nElapsed: %d ms",
+                        algorithm.getName(),
+                        progress.getNodesExpanded(),
+                        progress.getFrontierSize(),
+                        progress.getElapsedMillis()
+                    ));
+                }
+            }), Duration.ofMillis(100))
+            .build();
+
+        Board initialBoard = board;
+        setRunning(cancellation);
+        statsLabel.setText("Running algorithm...");
+
+        solverExecutor.execute(() -> {
+            try {
+                SolveResult result = algorithm.solve(initialBoard, heuristic, options);
+                Platform.runLater(() -> showResult(algorithm, result));
+            } catch (Throwable ex) {
+                Platform.runLater(() -> {
+                    setRunning(null);
+                    statsLabel.setText("Error: " + ex.getMessage());
+                    showError("Algorithm Error", "Error running algorithm", String.valueOf(ex.getMessage()));
+                });
+            }
+        });
+    }
+
+    private void setRunning(CancellationToken cancellation) {
+        activeCancellation = cancellation;
+        boolean running = cancellation != null;
+        runButton.setDisable(running);
+        fileButton.setDisable(running);
+        cancelButton.setDisable(!running);
+        if (running) saveButton.setDisable(true);
+    }
+
+    private void showResult(PathfindingAlgorithm algorithm, SolveResult result) {
+        setRunning(null);
+        String header = String.format(
+            "Algorithm: %s\nHeuristic: %s\nNodes visited: %d\nExecution time: %d ms\n",
+            algorithm.getName(),
+            algorithm.getHeuristicName(),
+            result.getNodesVisited(),
+            result.getExecutionTime()
+        );
+
+        switch (result.getStatus()) {
+            case SOLVED -> {
+                solution = result.getSolution();
+                lastAlgorithm = algorithm;
+                statsLabel.setText(header + "Solution steps: " + solution.length());
+                enableAnimationControls();
+                setupSlider(solution.length() + 1);
+                boardView.setSolution(solution);
+                saveButton.setDisable(false);
+            }
+            case CANCELLED -> statsLabel.setText(header + "Cancelled.");
+            default -> {
+                statsLabel.setText(header + "No solution found.");
+                showError("No Solution", "No solution could be found", "The puzzle has no valid solution path.");
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (activeCancellation != null) {
+            activeCancellation.cancel();
+        }
+        solverExecutor.shutdownNow();
+    }
+
     private HBox createAnimationControls() {
         HBox controls = new HBox(10);
         controls.setPadding(new Insets(10));
@@ -254,57 +334,30 @@ public class RushHourGUI extends Application {
         return controls;
     }
 
-    private boolean exportSolution(List<Board> solution, String algo, String heur, int nodesVisited, long time, File file) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            writer.write("Algorithm: " + algo + "\n");
-            writer.write("Heuristic: " + heur + "\n");
-            writer.write("Nodes visited: " + nodesVisited + "\n");
-            writer.write("Execution time: " + time + " ms\n\n");
-
-            writer.write("Papan Awal:\n");
-            writer.write(solution.get(0).toString() + "\n");
-
-            for (int i = 1; i < solution.size(); i++) {
-                writer.write("Gerakan " + i + ": " + identifyMove(solution.get(i - 1), solution.get(i)) + "\n");
-                writer.write(solution.get(i).toString() + "\n");
-            }
-            return true;
-        } catch (IOException ex) {
-            ex.printStackTrace();
-            return false;
-        }
-    }
-
-    private String identifyMove(Board prev, Board curr) {
-        for (Car car1 : prev.getCars()) {
-            Car car2 = findCarById(curr, car1.getId());
-            if (car2 != null && (car1.getRow() != car2.getRow() || car1.getCol() != car2.getCol())) {
-                String dir = car1.isHorizontal() ?
-                    (car2.getCol() > car1.getCol() ? "Kanan" : "Kiri") :
-                    (car2.getRow() > car1.getRow() ? "Bawah" : "Atas");
-                return car1.getId() + " - " + dir;
-            }
-        }
-        return "unknown";
-    }
-
-    private Car findCarById(Board board, char id) {
-        return board.getCars().stream().filter(c -> c.getId() == id).findFirst().orElse(null);
-    }
-
     private PathfindingAlgorithm getAlgorithmByName(String name, Heuristic heuristic) {
         return switch (name) {
             case "Greedy Best First Search" -> new GBFS(heuristic);
             case "Uniform Cost Search (UCS)" -> new UCS();
             case "A* Search" -> new AStar(heuristic);
+            case "IDA* Search" -> new IDAStar(heuristic);
+            case "Bidirectional BFS" -> new BidirectionalSearch();
+            case "Portfolio (race)" -> new PortfolioSolver();
             default -> null;
         };
     }
 
+    private boolean usesHeuristic(String algorithmName) {
+        return !"Uniform Cost Search (UCS)".equals(algorithmName)
+            && !"Bidirectional BFS".equals(algorithmName)
+            && !"Portfolio (race)".equals(algorithmName);
+    }
+
     private Heuristic getHeuristicByName(String name) {
         return switch (name) {
             case "Manhattan Distance" -> new HeuristicManhattan();
             case "Blocking Cars" -> new HeuristicBlocking();
+            case "Recursive Blocking" -> new HeuristicRecursiveBlocking();
+            case "Pattern Database" -> new HeuristicPatternDatabase(PDB_CACHE);
             default -> null;
         };
     }
@@ -7,6 +7,7 @@ module tucil3 {
     
     exports backend.model;
     exports backend.algorithm;
+    exports backend.algorithm.support;
     exports backend.exception;
     exports backend.util;
     exports gui;